@@ -0,0 +1,164 @@
+package com.nil.utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 개별 요청을 모아 하나의 일괄 처리 함수로 실행하고 결과를 요청별 CompletableFuture 로 돌려주는 유틸리티.
+ * 요청이 maxBatchSize 개 모이거나 첫 요청 이후 maxLinger 시간이 지나면 일괄 처리 됩니다.
+ * 일괄 처리 함수는 전달 받은 키와 같은 순서, 같은 크기의 결과 List 를 반환해야 합니다.
+ * using) AsyncBatcher<Long, User> users = new AsyncBatcher<>(ids -> repository.findAll(ids), 100, Duration.ofMillis(5));
+ *        users.submit(1L).thenAccept(...)
+ * @param <K>
+ * @param <V>
+ */
+public class AsyncBatcher<K, V> implements AutoCloseable {
+
+  private final Executor executor;
+  private final Function<List<K>, List<V>> batchFunction;
+  private final int maxBatchSize;
+  private final long maxLingerNanos;
+  private final Object lock = new Object();
+
+  private List<K> keys;
+  private List<CompletableFuture<V>> futures;
+  private ScheduledFuture<?> lingerTimer;
+  private long generation;
+  private boolean closed;
+
+  public AsyncBatcher(final Function<List<K>, List<V>> batchFunction, final int maxBatchSize, final Duration maxLinger) {
+    this(AsyncUtils.getExecutor(), batchFunction, maxBatchSize, maxLinger);
+  }
+
+  public AsyncBatcher(
+      final Executor executor, final Function<List<K>, List<V>> batchFunction,
+      final int maxBatchSize, final Duration maxLinger
+  ) {
+    if (null == executor || null == batchFunction) {
+      throw new IllegalArgumentException("executor and batchFunction must not be null");
+    }
+    if (0 >= maxBatchSize) throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+    if (null == maxLinger || maxLinger.isNegative()) throw new IllegalArgumentException("invalid maxLinger: " + maxLinger);
+
+    this.executor = executor;
+    this.batchFunction = batchFunction;
+    this.maxBatchSize = maxBatchSize;
+    this.maxLingerNanos = maxLinger.toNanos();
+    this.keys = new ArrayList<>(maxBatchSize);
+    this.futures = new ArrayList<>(maxBatchSize);
+  }
+
+  /**
+   * 요청을 현재 일괄 처리 묶음에 추가하고 해당 요청의 결과를 받을 CompletableFuture 를 반환합니다
+   * @param key
+   * @return
+   */
+  public CompletableFuture<V> submit(final K key) {
+    final CompletableFuture<V> future = new CompletableFuture<>();
+    List<K> readyKeys = null;
+    List<CompletableFuture<V>> readyFutures = null;
+
+    synchronized (lock) {
+      if (closed) {
+        future.completeExceptionally(new IllegalStateException("batcher is closed"));
+        return future;
+      }
+
+      if (keys.isEmpty()) {
+        final long current = generation;
+        lingerTimer = AsyncUtils.scheduler().schedule(() -> flush(current), maxLingerNanos, TimeUnit.NANOSECONDS);
+      }
+      keys.add(key);
+      futures.add(future);
+
+      if (keys.size() >= maxBatchSize) {
+        readyKeys = keys;
+        readyFutures = futures;
+        reset();
+      }
+    }
+
+    if (null != readyKeys) dispatch(readyKeys, readyFutures);
+
+    return future;
+  }
+
+  /**
+   * 대기중인 요청을 즉시 일괄 처리 합니다
+   */
+  public void flush() {
+    flush(-1L);
+  }
+
+  /**
+   * 대기중인 요청을 처리하고 이후 요청은 거부합니다
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      closed = true;
+    }
+
+    flush();
+  }
+
+  private void flush(final long expected) {
+    final List<K> readyKeys;
+    final List<CompletableFuture<V>> readyFutures;
+
+    synchronized (lock) {
+      if (keys.isEmpty() || (0L <= expected && expected != generation)) return;
+
+      readyKeys = keys;
+      readyFutures = futures;
+      reset();
+    }
+
+    dispatch(readyKeys, readyFutures);
+  }
+
+  private void reset() {
+    keys = new ArrayList<>(maxBatchSize);
+    futures = new ArrayList<>(maxBatchSize);
+    generation++;
+    if (null != lingerTimer) lingerTimer.cancel(false);
+    lingerTimer = null;
+  }
+
+  private void dispatch(final List<K> batchKeys, final List<CompletableFuture<V>> batchFutures) {
+    final Supplier<List<V>> task = AsyncUtils.instrument(() -> batchFunction.apply(batchKeys));
+    try {
+      executor.execute(() -> run(task, batchKeys.size(), batchFutures));
+    } catch (RejectedExecutionException e) {
+      for (final CompletableFuture<V> future : batchFutures) future.completeExceptionally(e);
+    }
+  }
+
+  private void run(final Supplier<List<V>> task, final int size, final List<CompletableFuture<V>> batchFutures) {
+    final List<V> values;
+    try {
+      values = task.get();
+    } catch (Throwable e) {
+      for (final CompletableFuture<V> future : batchFutures) future.completeExceptionally(e);
+      return;
+    }
+
+    if (null == values || values.size() != size) {
+      final IllegalStateException error = new IllegalStateException(
+          "batch function returned " + (null == values ? "null" : values.size() + " results") + " for " + size + " keys");
+      for (final CompletableFuture<V> future : batchFutures) future.completeExceptionally(error);
+      return;
+    }
+
+    for (int i = 0; i < batchFutures.size(); i++) batchFutures.get(i).complete(values.get(i));
+  }
+
+}
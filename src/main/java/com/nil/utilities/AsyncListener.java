@@ -0,0 +1,45 @@
+package com.nil.utilities;
+
+/**
+ * AsyncUtils 에서 실행되는 작업의 상태 변화를 전달 받는 리스너.
+ * 리스너는 작업 스레드에서 호출 되므로 빠르게 반환되어야 하며 예외를 던지지 않아야 합니다.
+ * 필요한 메서드만 구현하여 AsyncUtils.addListener 로 등록합니다.
+ */
+public interface AsyncListener {
+
+  /**
+   * 작업이 Executor 에 제출 되었을 때 호출됩니다
+   */
+  default void onSubmitted() {}
+
+  /**
+   * 작업이 실행을 시작했을 때 호출됩니다
+   * @param waitNanos 제출 후 실행까지 대기한 시간
+   */
+  default void onStarted(final long waitNanos) {}
+
+  /**
+   * 작업이 정상 완료 되었을 때 호출됩니다
+   * @param runNanos 실행 시간
+   */
+  default void onCompleted(final long runNanos) {}
+
+  /**
+   * 작업 중 예외가 발생했을 때 호출됩니다
+   * @param error
+   * @param runNanos 실행 시간
+   */
+  default void onFailed(final Throwable error, final long runNanos) {}
+
+  /**
+   * 작업이 제한 시간을 초과했을 때 호출됩니다
+   */
+  default void onTimeout() {}
+
+  /**
+   * 예외가 호출자에게 전달되지 않고 null 결과로 바뀌었을 때 호출됩니다 (getSuppliers, promiseAll)
+   * @param error
+   */
+  default void onSwallowed(final Throwable error) {}
+
+}
@@ -0,0 +1,256 @@
+package com.nil.utilities;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncUtils 작업의 카운터와 대기/실행 시간 히스토그램을 집계하는 기본 리스너.
+ * using) AsyncMetrics metrics = new AsyncMetrics(); AsyncUtils.addListener(metrics); ... metrics.snapshot()
+ */
+public class AsyncMetrics implements AsyncListener {
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+  private final LongAdder swallowed = new LongAdder();
+  private final Histogram waitTime = new Histogram();
+  private final Histogram runTime = new Histogram();
+
+  @Override
+  public void onSubmitted() {
+    submitted.increment();
+  }
+
+  @Override
+  public void onStarted(final long waitNanos) {
+    waitTime.record(waitNanos);
+  }
+
+  @Override
+  public void onCompleted(final long runNanos) {
+    completed.increment();
+    runTime.record(runNanos);
+  }
+
+  @Override
+  public void onFailed(final Throwable error, final long runNanos) {
+    failed.increment();
+    runTime.record(runNanos);
+  }
+
+  @Override
+  public void onTimeout() {
+    timedOut.increment();
+  }
+
+  @Override
+  public void onSwallowed(final Throwable error) {
+    swallowed.increment();
+  }
+
+  /**
+   * 현재까지 집계된 값과 기본 Executor 의 큐 길이, 활성 스레드 수를 반환합니다
+   * @return
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(
+        submitted.sum(), completed.sum(), failed.sum(), timedOut.sum(), swallowed.sum(),
+        AsyncUtils.getQueueDepth(), AsyncUtils.getActiveThreads(),
+        waitTime.snapshot(), runTime.snapshot()
+    );
+  }
+
+  /**
+   * 집계된 값을 초기화 합니다
+   */
+  public void reset() {
+    submitted.reset();
+    completed.reset();
+    failed.reset();
+    timedOut.reset();
+    swallowed.reset();
+    waitTime.reset();
+    runTime.reset();
+  }
+
+  /**
+   * 나노초 단위 값을 2의 거듭제곱 구간으로 집계하는 히스토그램
+   */
+  static final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(final long nanos) {
+      final long value = Math.max(0L, nanos);
+
+      buckets.incrementAndGet(BUCKETS - 1 - Long.numberOfLeadingZeros(Math.max(1L, value)));
+      sum.add(value);
+      if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    void reset() {
+      for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0L);
+      sum.reset();
+      max.set(0L);
+    }
+
+    HistogramSnapshot snapshot() {
+      final long[] counts = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) counts[i] = buckets.get(i);
+
+      return new HistogramSnapshot(counts, sum.sum(), max.get());
+    }
+  }
+
+  /**
+   * 히스토그램의 특정 시점 값
+   */
+  public static final class HistogramSnapshot {
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(final long[] buckets, final long sum, final long max) {
+      long total = 0L;
+      for (final long bucket : buckets) total += bucket;
+
+      this.buckets = buckets;
+      this.count = total;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMax(final TimeUnit unit) {
+      return unit.convert(max, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMean(final TimeUnit unit) {
+      return 0L == count ? 0L : unit.convert(sum / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 주어진 백분위 (0 ~ 1) 값이 속한 구간의 상한을 반환합니다
+     * @param quantile
+     * @param unit
+     * @return
+     */
+    public long getPercentile(final double quantile, final TimeUnit unit) {
+      if (0L == count) return 0L;
+
+      final long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+      long seen = 0L;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          return unit.convert(Math.min(max, 63 == i ? Long.MAX_VALUE : (1L << (i + 1)) - 1), TimeUnit.NANOSECONDS);
+        }
+      }
+
+      return unit.convert(max, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 구간별 건수를 반환합니다. i 번째 값은 [2^i, 2^(i+1)) 나노초 구간의 건수 입니다
+     * @return
+     */
+    public long[] getBuckets() {
+      return buckets.clone();
+    }
+  }
+
+  /**
+   * AsyncMetrics 의 특정 시점 값
+   */
+  public static final class Snapshot {
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long timedOut;
+    private final long swallowed;
+    private final int queueDepth;
+    private final int activeThreads;
+    private final HistogramSnapshot waitTime;
+    private final HistogramSnapshot runTime;
+
+    Snapshot(
+        final long submitted, final long completed, final long failed, final long timedOut, final long swallowed,
+        final int queueDepth, final int activeThreads,
+        final HistogramSnapshot waitTime, final HistogramSnapshot runTime
+    ) {
+      this.submitted = submitted;
+      this.completed = completed;
+      this.failed = failed;
+      this.timedOut = timedOut;
+      this.swallowed = swallowed;
+      this.queueDepth = queueDepth;
+      this.activeThreads = activeThreads;
+      this.waitTime = waitTime;
+      this.runTime = runTime;
+    }
+
+    public long getSubmitted() {
+      return submitted;
+    }
+
+    public long getCompleted() {
+      return completed;
+    }
+
+    public long getFailed() {
+      return failed;
+    }
+
+    public long getTimedOut() {
+      return timedOut;
+    }
+
+    public long getSwallowed() {
+      return swallowed;
+    }
+
+    /**
+     * 기본 Executor 의 대기 작업 수. 알 수 없는 Executor 유형이면 -1
+     * @return
+     */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /**
+     * 기본 Executor 의 활성 스레드 수. 알 수 없는 Executor 유형이면 -1
+     * @return
+     */
+    public int getActiveThreads() {
+      return activeThreads;
+    }
+
+    public HistogramSnapshot getWaitTime() {
+      return waitTime;
+    }
+
+    public HistogramSnapshot getRunTime() {
+      return runTime;
+    }
+
+    @Override
+    public String toString() {
+      return "AsyncMetrics[submitted=" + submitted + ", completed=" + completed + ", failed=" + failed
+          + ", timedOut=" + timedOut + ", swallowed=" + swallowed
+          + ", queueDepth=" + queueDepth + ", activeThreads=" + activeThreads
+          + ", wait.p99=" + waitTime.getPercentile(0.99, TimeUnit.MICROSECONDS) + "us"
+          + ", run.p99=" + runTime.getPercentile(0.99, TimeUnit.MICROSECONDS) + "us]";
+    }
+  }
+
+}
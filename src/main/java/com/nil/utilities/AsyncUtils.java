@@ -1,44 +1,282 @@
 package com.nil.utilities;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public abstract class AsyncUtils {
 
   public static final int MAX_PROMISE_THREAD_COUNT = 20;
-  public static final ExecutorService executor =
-      Executors.newFixedThreadPool(MAX_PROMISE_THREAD_COUNT);
+  public static final long SHUTDOWN_TIMEOUT_MILLIS = 5000L;
+
+  /** 기본 Executor 유형을 지정하는 시스템 프로퍼티 (fixed, work-stealing, virtual) */
+  public static final String EXECUTOR_TYPE_PROPERTY = "nil.async.executor";
+  /** 기본 Executor 의 스레드 수를 지정하는 시스템 프로퍼티 */
+  public static final String PARALLELISM_PROPERTY = "nil.async.parallelism";
+
+  /**
+   * 기본 ExecutorService 에 작업을 위임하는 호환용 ExecutorService. 항상 getExecutor() 의 현재 값을 사용합니다
+   * @deprecated getExecutor() 를 사용합니다
+   */
+  @Deprecated
+  public static final ExecutorService executor = new DefaultExecutorView();
+
+  private static final AtomicInteger threadSequence = new AtomicInteger();
+  private static final Object executorLock = new Object();
+  private static volatile ExecutorService defaultExecutor;
+  /** 기본 ExecutorService 를 AsyncUtils 에서 생성했는지 여부. 호출자가 지정한 ExecutorService 는 종료하지 않습니다 */
+  private static boolean ownsExecutor;
+  private static volatile ScheduledExecutorService scheduler;
+  private static volatile AsyncListener[] listeners = new AsyncListener[0];
+
+  static {
+    Runtime.getRuntime().addShutdownHook(
+        new Thread(() -> shutdown(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, true), "async-utils-shutdown")
+    );
+  }
+
+  /**
+   * 비동기 처리에 사용할 Executor 유형
+   */
+  public enum ExecutorType {
+    /** 고정 크기 플랫폼 스레드 풀 */
+    FIXED,
+    /** CPU 연산 위주의 작업을 위한 ForkJoin (work-stealing) 풀 */
+    WORK_STEALING,
+    /** 작업당 가상 스레드를 생성하는 Executor (Java 21 이상) */
+    VIRTUAL;
+
+    /**
+     * 시스템 프로퍼티 표기 (fixed, work-stealing, virtual) 로 유형을 찾습니다
+     * @param name
+     * @return
+     */
+    public static ExecutorType of(final String name) {
+      return valueOf(StringUtils.nvl(name, FIXED.name()).trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+  }
+
+  /**
+   * 작업별 제한 시간을 갖는 Supplier. promiseAll(Duration, ...) 에 전달하면 제한 시간이 지난 작업은 TIMEOUT 처리 됩니다
+   * @param <T>
+   */
+  public static final class Task<T> implements Supplier<T> {
+    private final Supplier<? extends T> supplier;
+    private final Duration timeout;
+
+    private Task(final Supplier<? extends T> supplier, final Duration timeout) {
+      this.supplier = supplier;
+      this.timeout = timeout;
+    }
+
+    @Override
+    public T get() {
+      return supplier.get();
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+  }
+
+  /**
+   * 주어진 Supplier 에 작업별 제한 시간을 지정합니다
+   * using) AsyncUtils.promiseAll(Duration.ofSeconds(1), AsyncUtils.task(() -> methodCall1, Duration.ofMillis(300)), () -> methodCall2)
+   * @param supplier
+   * @param timeout 0 보다 커야 합니다
+   * @return
+   * @param <T>
+   */
+  public static <T> Task<T> task(final Supplier<? extends T> supplier, final Duration timeout) {
+    if (null == supplier || null == timeout) throw new IllegalArgumentException("supplier and timeout must not be null");
+    if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("timeout must be positive: " + timeout);
+
+    return new Task<>(supplier, timeout);
+  }
+
+  /**
+   * 현재 사용중인 기본 ExecutorService 를 반환합니다.
+   * 처음 호출될 때 시스템 프로퍼티 설정에 따라 생성 되며 지정되지 않은 경우 고정 크기 풀을 사용합니다.
+   * @return
+   */
+  public static ExecutorService getExecutor() {
+    ExecutorService current = defaultExecutor;
+    if (null != current) return current;
+
+    synchronized (executorLock) {
+      if (null == defaultExecutor) {
+        final ExecutorType type = ExecutorType.of(System.getProperty(EXECUTOR_TYPE_PROPERTY));
+        final int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, MAX_PROMISE_THREAD_COUNT);
+
+        defaultExecutor = ExecutorType.VIRTUAL == type && !isVirtualThreadSupported()
+            ? newExecutor(ExecutorType.FIXED, parallelism)
+            : newExecutor(type, parallelism);
+        ownsExecutor = true;
+      }
+
+      return defaultExecutor;
+    }
+  }
+
+  /**
+   * 기본 ExecutorService 를 교체하고 이전 ExecutorService 를 반환합니다.
+   * 지정된 ExecutorService 와 이전 ExecutorService 의 종료는 호출자가 처리하며, JVM 종료 시에도 AsyncUtils 가 종료하지 않습니다.
+   * @param newExecutor
+   * @return
+   */
+  public static ExecutorService setExecutor(final ExecutorService newExecutor) {
+    if (null == newExecutor) throw new IllegalArgumentException("executor must not be null");
+
+    synchronized (executorLock) {
+      return replaceExecutor(newExecutor, false);
+    }
+  }
+
+  /**
+   * 지정된 유형의 ExecutorService 로 기본 ExecutorService 를 교체합니다.
+   * 이전 ExecutorService 가 AsyncUtils 에서 생성한 것이면 실행중인 작업을 마친 후 종료 됩니다.
+   * @param type
+   * @param parallelism
+   */
+  public static void useExecutor(final ExecutorType type, final int parallelism) {
+    final ExecutorService created = newExecutor(type, parallelism);
+    final boolean owned;
+    final ExecutorService previous;
+    synchronized (executorLock) {
+      owned = ownsExecutor;
+      previous = replaceExecutor(created, true);
+    }
+
+    if (owned && null != previous) previous.shutdown();
+  }
+
+  /**
+   * 지정된 유형의 ExecutorService 를 생성합니다. 플랫폼 스레드는 JVM 종료를 막지 않도록 데몬 스레드로 생성됩니다.
+   * @param type
+   * @param parallelism VIRTUAL 유형에서는 사용되지 않습니다
+   * @return
+   */
+  public static ExecutorService newExecutor(final ExecutorType type, final int parallelism) {
+    if (0 >= parallelism) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+
+    switch (type) {
+      case WORK_STEALING:
+        return Executors.newWorkStealingPool(parallelism);
+      case VIRTUAL:
+        return newVirtualThreadPerTaskExecutor();
+      case FIXED:
+      default:
+        return Executors.newFixedThreadPool(parallelism, daemonThreadFactory());
+    }
+  }
+
+  /**
+   * 현재 JVM 에서 가상 스레드를 사용할 수 있는지 확인 합니다
+   * @return
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 기본 ExecutorService 를 종료합니다. 제한 시간 안에 끝나지 않은 작업은 인터럽트 됩니다.
+   * 종료 후 다시 사용되면 기본 ExecutorService 가 새로 생성됩니다.
+   * @param timeout
+   * @param unit
+   * @return 제한 시간 안에 모든 작업이 종료 되었는지 여부
+   */
+  public static boolean shutdown(final long timeout, final TimeUnit unit) {
+    return shutdown(timeout, unit, false);
+  }
+
+  /**
+   * @param ownedOnly true 이면 AsyncUtils 에서 생성한 ExecutorService 만 종료합니다 (JVM 종료 hook)
+   */
+  private static boolean shutdown(final long timeout, final TimeUnit unit, final boolean ownedOnly) {
+    final ExecutorService current;
+    synchronized (executorLock) {
+      if (ownedOnly && !ownsExecutor) return true;
+
+      current = replaceExecutor(null, false);
+    }
+    if (null == current) return true;
+
+    current.shutdown();
+    try {
+      if (current.awaitTermination(timeout, unit)) return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    current.shutdownNow();
+
+    return false;
+  }
 
   /**
    * ExecutorService 이용 하여 동시 처리할 명령 집합 실행 Function 만들어 리턴 한다.
    * @param suppliers
    * @return
    */
-  public static final CompletableFuture[] getSuppliers(final Supplier<Object>... suppliers) {
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static final CompletableFuture<?>[] getSuppliers(final Supplier<Object>... suppliers) {
+    return getSuppliers(getExecutor(), suppliers);
+  }
+
+  /**
+   * 지정된 Executor 를 이용 하여 동시 처리할 명령 집합 실행 Function 만들어 리턴 한다.
+   * @param executor
+   * @param suppliers
+   * @return
+   */
+  @SafeVarargs
+  public static final CompletableFuture<?>[] getSuppliers(final Executor executor, final Supplier<Object>... suppliers) {
     return IntStream
         .range(0, suppliers.length)
-        .mapToObj(idx -> CompletableFuture.supplyAsync(() -> {
+        .mapToObj(idx -> {
+          final Supplier<Object> task = instrument(suppliers[idx]);
+
+          return CompletableFuture.supplyAsync(() -> {
             try {
-              return suppliers[idx].get();
+              return task.get();
             } catch(Exception e) {
+              notifySwallowed(e);
               return null;
             }
-          }, executor)
-        ).toArray(CompletableFuture[]::new);
+          }, executor);
+        }).toArray(CompletableFuture<?>[]::new);
   }
 
   /**
    * 메서드 모음을 병렬로 실행 한다.
    * @param futures
    */
-  public static void executeSupplier(final CompletableFuture[] futures) {
+  public static void executeSupplier(final CompletableFuture<?>[] futures) {
     CompletableFuture
         .allOf(futures)
         .exceptionally(throwable -> null)
@@ -51,8 +289,23 @@ public abstract class AsyncUtils {
    * @param suppliers
    * @return
    */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
   public static List<Object> promiseAll(final Supplier<Object>... suppliers) {
-    final CompletableFuture[] futures = getSuppliers(suppliers);
+    return promiseAll(getExecutor(), suppliers);
+  }
+
+  /**
+   * 지정된 Executor 에서 메서드를 병렬처리 후 결과 값을 List 형태로 전달한다.
+   * using) AsyncUtils.promiseAll(executor, () -> methodCall1, () -> methodCall2 ...)
+   * @param executor
+   * @param suppliers
+   * @return
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static List<Object> promiseAll(final Executor executor, final Supplier<Object>... suppliers) {
+    final CompletableFuture<?>[] futures = getSuppliers(executor, suppliers);
 
     executeSupplier(futures);
 
@@ -62,10 +315,313 @@ public abstract class AsyncUtils {
           try {
             return future.get();
           } catch(ExecutionException | InterruptedException e) {
+            notifySwallowed(e);
             return null;
           }
         })
         .collect(Collectors.toList());
   }
 
+  /**
+   * 제한 시간 내에 동시에 처리할 메서드를 병렬처리 후 작업별 결과, 오류, 소요 시간을 전달한다.
+   * 하나의 작업이 실패하거나 제한 시간이 지나면 남은 작업은 즉시 취소(인터럽트) 된다.
+   * using) AsyncUtils.promiseAll(Duration.ofSeconds(1), () -> methodCall1, () -> methodCall2 ...)
+   * @param deadline
+   * @param suppliers
+   * @return
+   * @param <T>
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <T> PromiseResult<T> promiseAll(final Duration deadline, final Supplier<? extends T>... suppliers) {
+    return promiseAll(getExecutor(), deadline, suppliers);
+  }
+
+  /**
+   * 제한 시간 내에 List 로 전달된 메서드를 병렬처리 후 작업별 결과를 전달한다.
+   * @param deadline
+   * @param suppliers
+   * @return
+   * @param <T>
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> PromiseResult<T> promiseAll(final Duration deadline, final List<? extends Supplier<? extends T>> suppliers) {
+    return promiseAll(getExecutor(), deadline, (Supplier<? extends T>[]) suppliers.toArray(new Supplier<?>[0]));
+  }
+
+  /**
+   * 지정된 Executor 에서 제한 시간 내에 메서드를 병렬처리 후 작업별 결과를 전달한다.
+   * @param executor
+   * @param deadline
+   * @param suppliers
+   * @return
+   * @param <T>
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <T> PromiseResult<T> promiseAll(
+      final Executor executor, final Duration deadline, final Supplier<? extends T>... suppliers
+  ) {
+    if (null == deadline || deadline.isNegative()) throw new IllegalArgumentException("invalid deadline: " + deadline);
+
+    return new DeadlinePromise<T>(suppliers).run(executor, deadline);
+  }
+
+  /**
+   * 주어진 항목을 최대 maxInFlight 개까지만 동시에 변환하여 Stream 으로 반환한다.
+   * 원본은 결과 Stream 을 소비하는 만큼만 읽기 때문에 대량의 항목도 일정한 메모리로 처리할 수 있다.
+   * using) AsyncUtils.mapAsync(ids, id -> repository.find(id), 32, true).forEach(...)
+   * @param source
+   * @param mapper
+   * @param maxInFlight 동시에 실행할 최대 작업 수
+   * @param ordered true 이면 입력 순서대로, false 이면 완료된 순서대로 결과를 반환
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public static <T, U> Stream<U> mapAsync(
+      final Iterable<? extends T> source, final Function<? super T, ? extends U> mapper,
+      final int maxInFlight, final boolean ordered
+  ) {
+    return mapAsync(getExecutor(), source.iterator(), mapper, maxInFlight, ordered);
+  }
+
+  /**
+   * 주어진 Stream 의 항목을 최대 maxInFlight 개까지만 동시에 변환하여 Stream 으로 반환한다.
+   * 결과 Stream 이 닫히면 원본 Stream 도 닫힌다.
+   * @param source
+   * @param mapper
+   * @param maxInFlight
+   * @param ordered
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public static <T, U> Stream<U> mapAsync(
+      final Stream<? extends T> source, final Function<? super T, ? extends U> mapper,
+      final int maxInFlight, final boolean ordered
+  ) {
+    return AsyncUtils.<T, U>mapAsync(getExecutor(), source.iterator(), mapper, maxInFlight, ordered)
+        .onClose(source::close);
+  }
+
+  /**
+   * 주어진 Iterator 의 항목을 최대 maxInFlight 개까지만 동시에 변환하여 Stream 으로 반환한다.
+   * @param source
+   * @param mapper
+   * @param maxInFlight
+   * @param ordered
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public static <T, U> Stream<U> mapAsync(
+      final Iterator<? extends T> source, final Function<? super T, ? extends U> mapper,
+      final int maxInFlight, final boolean ordered
+  ) {
+    return mapAsync(getExecutor(), source, mapper, maxInFlight, ordered);
+  }
+
+  /**
+   * 지정된 Executor 에서 주어진 Iterator 의 항목을 최대 maxInFlight 개까지만 동시에 변환하여 Stream 으로 반환한다.
+   * 변환 중 예외가 발생하면 남은 작업은 취소되고 결과 Stream 소비 시점에 CompletionException 이 발생한다.
+   * @param executor
+   * @param source
+   * @param mapper
+   * @param maxInFlight
+   * @param ordered
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public static <T, U> Stream<U> mapAsync(
+      final Executor executor, final Iterator<? extends T> source,
+      final Function<? super T, ? extends U> mapper, final int maxInFlight, final boolean ordered
+  ) {
+    final BoundedAsyncIterator<T, U> iterator =
+        new BoundedAsyncIterator<>(source, mapper, executor, maxInFlight, ordered);
+
+    return StreamUtils.iteratorAsStream(iterator).onClose(iterator::close);
+  }
+
+  /**
+   * 작업 상태를 전달 받을 리스너를 등록합니다. 등록된 리스너가 없으면 계측 비용이 발생하지 않습니다
+   * @param listener
+   */
+  public static void addListener(final AsyncListener listener) {
+    if (null == listener) throw new IllegalArgumentException("listener must not be null");
+
+    synchronized (executorLock) {
+      final AsyncListener[] current = listeners;
+      final AsyncListener[] next = Arrays.copyOf(current, current.length + 1);
+      next[current.length] = listener;
+      listeners = next;
+    }
+  }
+
+  /**
+   * 등록된 리스너를 제거합니다
+   * @param listener
+   */
+  public static void removeListener(final AsyncListener listener) {
+    synchronized (executorLock) {
+      listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(AsyncListener[]::new);
+    }
+  }
+
+  /**
+   * 기본 Executor 에서 실행을 기다리는 작업 수를 반환합니다. 알 수 없는 Executor 유형이면 -1 을 반환합니다
+   * @return
+   */
+  public static int getQueueDepth() {
+    final ExecutorService current = defaultExecutor;
+
+    if (current instanceof ThreadPoolExecutor) return ((ThreadPoolExecutor) current).getQueue().size();
+    if (current instanceof ForkJoinPool) {
+      final ForkJoinPool pool = (ForkJoinPool) current;
+      return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+    }
+
+    return null == current ? 0 : -1;
+  }
+
+  /**
+   * 기본 Executor 에서 작업을 실행중인 스레드 수를 반환합니다. 알 수 없는 Executor 유형이면 -1 을 반환합니다
+   * @return
+   */
+  public static int getActiveThreads() {
+    final ExecutorService current = defaultExecutor;
+
+    if (current instanceof ThreadPoolExecutor) return ((ThreadPoolExecutor) current).getActiveCount();
+    if (current instanceof ForkJoinPool) return ((ForkJoinPool) current).getActiveThreadCount();
+
+    return null == current ? 0 : -1;
+  }
+
+  /**
+   * 등록된 리스너가 있으면 대기/실행 시간과 완료/실패를 전달하도록 Supplier 를 감쌉니다
+   * @param supplier
+   * @return
+   * @param <T>
+   */
+  static <T> Supplier<T> instrument(final Supplier<T> supplier) {
+    final AsyncListener[] current = listeners;
+    if (0 == current.length) return supplier;
+
+    for (final AsyncListener listener : current) listener.onSubmitted();
+    final long submittedAt = System.nanoTime();
+
+    return () -> {
+      final long startedAt = System.nanoTime();
+      for (final AsyncListener listener : current) listener.onStarted(startedAt - submittedAt);
+
+      try {
+        final T value = supplier.get();
+        final long runNanos = System.nanoTime() - startedAt;
+        for (final AsyncListener listener : current) listener.onCompleted(runNanos);
+
+        return value;
+      } catch (Throwable e) {
+        final long runNanos = System.nanoTime() - startedAt;
+        for (final AsyncListener listener : current) listener.onFailed(e, runNanos);
+
+        throw e;
+      }
+    };
+  }
+
+  static void notifyTimeout() {
+    for (final AsyncListener listener : listeners) listener.onTimeout();
+  }
+
+  static void notifySwallowed(final Throwable error) {
+    for (final AsyncListener listener : listeners) listener.onSwallowed(error);
+  }
+
+  /**
+   * 제한 시간 처리에 사용하는 공유 스케줄러를 반환합니다
+   * @return
+   */
+  static ScheduledExecutorService scheduler() {
+    ScheduledExecutorService current = scheduler;
+    if (null != current) return current;
+
+    synchronized (executorLock) {
+      if (null == scheduler) {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("async-utils-timer-"));
+        timer.setRemoveOnCancelPolicy(true);
+        scheduler = timer;
+      }
+
+      return scheduler;
+    }
+  }
+
+  /**
+   * executorLock 안에서 호출합니다
+   */
+  private static ExecutorService replaceExecutor(final ExecutorService newExecutor, final boolean owned) {
+    final ExecutorService previous = defaultExecutor;
+    defaultExecutor = newExecutor;
+    ownsExecutor = owned;
+
+    return previous;
+  }
+
+  private static ThreadFactory daemonThreadFactory() {
+    return daemonThreadFactory("async-utils-");
+  }
+
+  private static ThreadFactory daemonThreadFactory(final String prefix) {
+    return runnable -> {
+      final Thread thread = new Thread(runnable, prefix + threadSequence.incrementAndGet());
+      thread.setDaemon(true);
+
+      return thread;
+    };
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("virtual threads require Java 21 or later", e);
+    }
+  }
+
+  /**
+   * 호환용 executor 필드의 구현. 모든 호출을 현재 기본 ExecutorService 에 위임합니다
+   */
+  private static final class DefaultExecutorView extends AbstractExecutorService {
+    @Override
+    public void execute(final Runnable command) {
+      getExecutor().execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+      getExecutor().shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return getExecutor().shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return getExecutor().isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return getExecutor().isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+      return getExecutor().awaitTermination(timeout, unit);
+    }
+  }
+
 }
@@ -0,0 +1,253 @@
+package com.nil.utilities;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 표 기반 Base64 decoder. 형식 검사와 복원을 한 번의 순회로 처리합니다.
+ * 표준 (+/) 과 URL safe (-_) 문자를 모두 허용하며 padding (=) 은 생략할 수 있습니다.
+ * 허용하는 형식은 Formatters.BASE64_PATTERN 과 같습니다.
+ */
+public abstract class Base64Engine {
+
+  private static final int INVALID = -1;
+  private static final int PAD = '=';
+  private static final int[] TABLE = new int[256];
+
+  static {
+    Arrays.fill(TABLE, INVALID);
+    final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    for (int i = 0; i < alphabet.length(); i++) TABLE[alphabet.charAt(i)] = i;
+    TABLE['-'] = 62;
+    TABLE['_'] = 63;
+  }
+
+  /**
+   * 주어진 문자열이 Base64 형식인지 확인합니다
+   * @param src
+   * @return
+   */
+  public static boolean isValid(final CharSequence src) {
+    final int end = dataLength(src);
+    if (0 > end) return false;
+
+    for (int i = 0; i < end; i++) {
+      if (0 > value(src.charAt(i))) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * 복원될 바이트 수를 반환합니다. 끝부분의 길이와 padding 만 확인하므로 형식 오류는 decode 에서 판별됩니다
+   * @param src
+   * @return 길이나 padding 이 잘못된 경우 -1
+   */
+  public static int decodedLength(final CharSequence src) {
+    return toDecodedLength(dataLength(src));
+  }
+
+  /**
+   * 주어진 Base64 문자열을 복원합니다
+   * @param src
+   * @return 형식이 잘못된 경우 null
+   */
+  public static byte[] decode(final CharSequence src) {
+    final int length = decodedLength(src);
+    if (0 > length) return null;
+
+    final byte[] dst = new byte[length];
+
+    return 0 > decode(src, dst, 0) ? null : dst;
+  }
+
+  /**
+   * 주어진 Base64 문자열을 dst 의 offset 위치부터 복원하고 기록한 바이트 수를 반환합니다.
+   * dst 는 decodedLength 이상의 공간이 있어야 합니다
+   * @param src
+   * @param dst
+   * @param offset
+   * @return 형식이 잘못된 경우 -1
+   */
+  public static int decode(final CharSequence src, final byte[] dst, final int offset) {
+    final int end = dataLength(src);
+    if (0 > end) return INVALID;
+
+    int op = offset;
+    int i = 0;
+    for (final int full = end & ~3; i < full; i += 4) {
+      final int a = value(src.charAt(i));
+      final int b = value(src.charAt(i + 1));
+      final int c = value(src.charAt(i + 2));
+      final int d = value(src.charAt(i + 3));
+      if (0 > (a | b | c | d)) return INVALID;
+
+      final int bits = (a << 18) | (b << 12) | (c << 6) | d;
+      dst[op++] = (byte) (bits >> 16);
+      dst[op++] = (byte) (bits >> 8);
+      dst[op++] = (byte) bits;
+    }
+
+    if (i < end) {
+      final int a = value(src.charAt(i));
+      final int b = value(src.charAt(i + 1));
+      final int c = i + 2 < end ? value(src.charAt(i + 2)) : 0;
+      if (0 > (a | b | c)) return INVALID;
+
+      op = writeTail((a << 18) | (b << 12) | (c << 6), end - i, dst, op);
+    }
+
+    return op - offset;
+  }
+
+  /**
+   * 바이트 배열의 지정된 구간에 담긴 Base64 문자를 dst 의 dstOffset 위치부터 복원하고 기록한 바이트 수를 반환합니다
+   * @param src
+   * @param srcOffset
+   * @param srcLength
+   * @param dst
+   * @param dstOffset
+   * @return 형식이 잘못된 경우 -1
+   */
+  public static int decode(
+      final byte[] src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset
+  ) {
+    int srcEnd = srcOffset + srcLength;
+    int pad = 0;
+    while (2 > pad && srcEnd > srcOffset && PAD == src[srcEnd - 1]) {
+      srcEnd--;
+      pad++;
+    }
+    if (!isValidTail(srcEnd - srcOffset, pad)) return INVALID;
+
+    int op = dstOffset;
+    int i = srcOffset;
+    for (final int full = srcOffset + ((srcEnd - srcOffset) & ~3); i < full; i += 4) {
+      final int a = TABLE[src[i] & 0xFF];
+      final int b = TABLE[src[i + 1] & 0xFF];
+      final int c = TABLE[src[i + 2] & 0xFF];
+      final int d = TABLE[src[i + 3] & 0xFF];
+      if (0 > (a | b | c | d)) return INVALID;
+
+      final int bits = (a << 18) | (b << 12) | (c << 6) | d;
+      dst[op++] = (byte) (bits >> 16);
+      dst[op++] = (byte) (bits >> 8);
+      dst[op++] = (byte) bits;
+    }
+
+    if (i < srcEnd) {
+      final int a = TABLE[src[i] & 0xFF];
+      final int b = TABLE[src[i + 1] & 0xFF];
+      final int c = i + 2 < srcEnd ? TABLE[src[i + 2] & 0xFF] : 0;
+      if (0 > (a | b | c)) return INVALID;
+
+      op = writeTail((a << 18) | (b << 12) | (c << 6), srcEnd - i, dst, op);
+    }
+
+    return op - dstOffset;
+  }
+
+  /**
+   * src 의 남은 Base64 문자를 dst 의 현재 위치부터 복원하고 기록한 바이트 수를 반환합니다.
+   * 성공하면 src 는 끝까지, dst 는 기록한 만큼 위치가 이동하며 실패하면 두 위치 모두 변경되지 않습니다.
+   * dst 의 남은 공간이 부족하면 BufferOverflowException 이 발생합니다
+   * @param src heap 또는 direct ByteBuffer
+   * @param dst heap 또는 direct ByteBuffer
+   * @return 형식이 잘못된 경우 -1
+   */
+  public static int decode(final ByteBuffer src, final ByteBuffer dst) {
+    final int start = src.position();
+    int srcEnd = src.limit();
+    int pad = 0;
+    while (2 > pad && srcEnd > start && PAD == src.get(srcEnd - 1)) {
+      srcEnd--;
+      pad++;
+    }
+    if (!isValidTail(srcEnd - start, pad)) return INVALID;
+    if (dst.remaining() < toDecodedLength(srcEnd - start)) throw new BufferOverflowException();
+
+    if (src.hasArray() && dst.hasArray()) {
+      final int count = decode(src.array(), src.arrayOffset() + start, src.remaining(),
+          dst.array(), dst.arrayOffset() + dst.position());
+      if (0 > count) return INVALID;
+
+      src.position(src.limit());
+      dst.position(dst.position() + count);
+
+      return count;
+    }
+
+    final int dstStart = dst.position();
+    int i = start;
+    for (final int full = start + ((srcEnd - start) & ~3); i < full; i += 4) {
+      final int a = TABLE[src.get(i) & 0xFF];
+      final int b = TABLE[src.get(i + 1) & 0xFF];
+      final int c = TABLE[src.get(i + 2) & 0xFF];
+      final int d = TABLE[src.get(i + 3) & 0xFF];
+      if (0 > (a | b | c | d)) {
+        dst.position(dstStart);
+        return INVALID;
+      }
+
+      final int bits = (a << 18) | (b << 12) | (c << 6) | d;
+      dst.put((byte) (bits >> 16)).put((byte) (bits >> 8)).put((byte) bits);
+    }
+
+    if (i < srcEnd) {
+      final int a = TABLE[src.get(i) & 0xFF];
+      final int b = TABLE[src.get(i + 1) & 0xFF];
+      final int c = i + 2 < srcEnd ? TABLE[src.get(i + 2) & 0xFF] : 0;
+      if (0 > (a | b | c)) {
+        dst.position(dstStart);
+        return INVALID;
+      }
+
+      final int bits = (a << 18) | (b << 12) | (c << 6);
+      dst.put((byte) (bits >> 16));
+      if (3 == srcEnd - i) dst.put((byte) (bits >> 8));
+    }
+    src.position(src.limit());
+
+    return dst.position() - dstStart;
+  }
+
+  private static int value(final char ch) {
+    return 256 > ch ? TABLE[ch] : INVALID;
+  }
+
+  /**
+   * padding 을 제외한 Base64 문자 수를 반환합니다
+   */
+  private static int dataLength(final CharSequence src) {
+    int end = src.length();
+    int pad = 0;
+    while (2 > pad && 0 < end && PAD == src.charAt(end - 1)) {
+      end--;
+      pad++;
+    }
+
+    return isValidTail(end, pad) ? end : INVALID;
+  }
+
+  /**
+   * 마지막 묶음이 2자리면 padding 2개까지, 3자리면 1개까지, 4자리면 padding 없이 허용합니다
+   */
+  private static boolean isValidTail(final int length, final int pad) {
+    final int rem = length & 3;
+
+    return 0 == rem ? 0 == pad : 1 != rem && pad <= 4 - rem;
+  }
+
+  private static int toDecodedLength(final int length) {
+    return 0 > length ? INVALID : (length >> 2) * 3 + Math.max(0, (length & 3) - 1);
+  }
+
+  private static int writeTail(final int bits, final int remaining, final byte[] dst, int op) {
+    dst[op++] = (byte) (bits >> 16);
+    if (3 == remaining) dst[op++] = (byte) (bits >> 8);
+
+    return op;
+  }
+
+}
@@ -0,0 +1,427 @@
+package com.nil.utilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클래스 설명자 없이 타입 태그와 가변 길이 정수로 기록하는 간결한 바이너리 codec.
+ * 원시형, 문자열, 숫자, 배열, List, Set, Map, Date, Enum 과 미리 등록한 단순 POJO 를 지원합니다.
+ * 그 외 Serializable 객체는 해당 값만 Java 직렬화로 기록합니다.
+ * List, Set, Map 은 각각 ArrayList, LinkedHashSet, LinkedHashMap 으로 복원되며 순환 참조는 지원하지 않습니다.
+ * POJO 는 기본 생성자가 필요하며 직렬화/역직렬화 양쪽에서 같은 식별자로 등록해야 합니다.
+ */
+public class BinaryCodec implements SerializeCodec {
+
+  public static final int ID = 1;
+
+  private static final int NULL = 0;
+  private static final int TRUE = 1;
+  private static final int FALSE = 2;
+  private static final int BYTE = 3;
+  private static final int SHORT = 4;
+  private static final int CHAR = 5;
+  private static final int INT = 6;
+  private static final int LONG = 7;
+  private static final int FLOAT = 8;
+  private static final int DOUBLE = 9;
+  private static final int STRING = 10;
+  private static final int BIG_INTEGER = 11;
+  private static final int BIG_DECIMAL = 12;
+  private static final int BYTE_ARRAY = 13;
+  private static final int INT_ARRAY = 14;
+  private static final int LONG_ARRAY = 15;
+  private static final int DOUBLE_ARRAY = 16;
+  private static final int OBJECT_ARRAY = 17;
+  private static final int LIST = 18;
+  private static final int SET = 19;
+  private static final int MAP = 20;
+  private static final int DATE = 21;
+  private static final int ENUM = 22;
+  private static final int POJO = 23;
+  private static final int JAVA = 24;
+
+  private final Map<Class<?>, PojoType> pojoByClass = new ConcurrentHashMap<>();
+  private final Map<Integer, PojoType> pojoById = new ConcurrentHashMap<>();
+  private final Map<String, Class<?>> classCache = new ConcurrentHashMap<>();
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  /**
+   * 단순 POJO 유형을 식별자와 함께 등록합니다. static, transient 가 아닌 모든 필드를 이름 순서로 기록합니다
+   * @param id
+   * @param type
+   * @return
+   */
+  public BinaryCodec register(final int id, final Class<?> type) {
+    if (0 > id) throw new IllegalArgumentException("id must not be negative: " + id);
+
+    final PojoType pojo = new PojoType(id, type);
+    final PojoType previous = pojoById.putIfAbsent(id, pojo);
+    if (null != previous && previous.type != type) {
+      throw new IllegalArgumentException("id " + id + " is already registered for " + previous.type.getName());
+    }
+    pojoByClass.put(type, pojo);
+
+    return this;
+  }
+
+  @Override
+  public void write(final Object value, final OutputStream out) throws IOException {
+    final DataOutputStream dos = new DataOutputStream(out);
+    writeValue(dos, value);
+    dos.flush();
+  }
+
+  @Override
+  public Object read(final InputStream in) throws IOException, ClassNotFoundException {
+    return readValue(new DataInputStream(in));
+  }
+
+  private void writeValue(final DataOutputStream out, final Object value) throws IOException {
+    if (null == value) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INT);
+      writeVarLong(out, zigzag((Integer) value));
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      writeVarLong(out, zigzag((Long) value));
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Character) {
+      out.writeByte(CHAR);
+      out.writeChar((Character) value);
+    } else if (value.getClass() == BigDecimal.class) {
+      final BigDecimal decimal = (BigDecimal) value;
+      out.writeByte(BIG_DECIMAL);
+      writeVarLong(out, zigzag(decimal.scale()));
+      writeBytes(out, decimal.unscaledValue().toByteArray());
+    } else if (value.getClass() == BigInteger.class) {
+      out.writeByte(BIG_INTEGER);
+      writeBytes(out, ((BigInteger) value).toByteArray());
+    } else if (value instanceof byte[]) {
+      out.writeByte(BYTE_ARRAY);
+      writeBytes(out, (byte[]) value);
+    } else if (value instanceof int[]) {
+      final int[] array = (int[]) value;
+      out.writeByte(INT_ARRAY);
+      writeVarLong(out, array.length);
+      for (final int item : array) writeVarLong(out, zigzag(item));
+    } else if (value instanceof long[]) {
+      final long[] array = (long[]) value;
+      out.writeByte(LONG_ARRAY);
+      writeVarLong(out, array.length);
+      for (final long item : array) writeVarLong(out, zigzag(item));
+    } else if (value instanceof double[]) {
+      final double[] array = (double[]) value;
+      out.writeByte(DOUBLE_ARRAY);
+      writeVarLong(out, array.length);
+      for (final double item : array) out.writeDouble(item);
+    } else if (value instanceof Object[]) {
+      final Object[] array = (Object[]) value;
+      out.writeByte(OBJECT_ARRAY);
+      writeString(out, array.getClass().getComponentType().getName());
+      writeVarLong(out, array.length);
+      for (final Object item : array) writeValue(out, item);
+    } else if (value instanceof List) {
+      out.writeByte(LIST);
+      writeCollection(out, (Collection<?>) value);
+    } else if (value instanceof Set) {
+      out.writeByte(SET);
+      writeCollection(out, (Collection<?>) value);
+    } else if (value instanceof Map) {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      out.writeByte(MAP);
+      writeVarLong(out, map.size());
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        writeValue(out, entry.getKey());
+        writeValue(out, entry.getValue());
+      }
+    } else if (value.getClass() == Date.class) {
+      out.writeByte(DATE);
+      out.writeLong(((Date) value).getTime());
+    } else if (value instanceof Enum) {
+      out.writeByte(ENUM);
+      writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+      writeString(out, ((Enum<?>) value).name());
+    } else if (pojoByClass.containsKey(value.getClass())) {
+      final PojoType pojo = pojoByClass.get(value.getClass());
+      out.writeByte(POJO);
+      writeVarLong(out, pojo.id);
+      for (final Field field : pojo.fields) writeValue(out, get(field, value));
+    } else if (value instanceof Serializable) {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+        oos.writeObject(value);
+      }
+      out.writeByte(JAVA);
+      writeBytes(out, bytes.toByteArray());
+    } else {
+      throw new NotSerializableException(value.getClass().getName());
+    }
+  }
+
+  private Object readValue(final DataInputStream in) throws IOException, ClassNotFoundException {
+    final int tag = in.read();
+
+    switch (tag) {
+      case NULL: return null;
+      case TRUE: return Boolean.TRUE;
+      case FALSE: return Boolean.FALSE;
+      case BYTE: return in.readByte();
+      case SHORT: return in.readShort();
+      case CHAR: return in.readChar();
+      case INT: return (int) unzigzag(readVarLong(in));
+      case LONG: return unzigzag(readVarLong(in));
+      case FLOAT: return in.readFloat();
+      case DOUBLE: return in.readDouble();
+      case STRING: return readString(in);
+      case BIG_INTEGER: return new BigInteger(readBytes(in));
+      case BIG_DECIMAL: {
+        final int scale = (int) unzigzag(readVarLong(in));
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+      }
+      case BYTE_ARRAY: return readBytes(in);
+      case INT_ARRAY: {
+        final int[] array = new int[readLength(in)];
+        for (int i = 0; i < array.length; i++) array[i] = (int) unzigzag(readVarLong(in));
+        return array;
+      }
+      case LONG_ARRAY: {
+        final long[] array = new long[readLength(in)];
+        for (int i = 0; i < array.length; i++) array[i] = unzigzag(readVarLong(in));
+        return array;
+      }
+      case DOUBLE_ARRAY: {
+        final double[] array = new double[readLength(in)];
+        for (int i = 0; i < array.length; i++) array[i] = in.readDouble();
+        return array;
+      }
+      case OBJECT_ARRAY: {
+        final Class<?> component = loadClass(readString(in));
+        final Object[] array = (Object[]) Array.newInstance(component, readLength(in));
+        for (int i = 0; i < array.length; i++) array[i] = readValue(in);
+        return array;
+      }
+      case LIST: {
+        final int size = readLength(in);
+        final List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(readValue(in));
+        return list;
+      }
+      case SET: {
+        final int size = readLength(in);
+        final Set<Object> set = new LinkedHashSet<>(capacity(size));
+        for (int i = 0; i < size; i++) set.add(readValue(in));
+        return set;
+      }
+      case MAP: {
+        final int size = readLength(in);
+        final Map<Object, Object> map = new LinkedHashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) map.put(readValue(in), readValue(in));
+        return map;
+      }
+      case DATE: return new Date(in.readLong());
+      case ENUM: return readEnum(loadClass(readString(in)), readString(in));
+      case POJO: {
+        final int id = (int) readVarLong(in);
+        final PojoType pojo = pojoById.get(id);
+        if (null == pojo) throw new ClassNotFoundException("unregistered pojo id: " + id);
+
+        final Object value = pojo.newInstance();
+        for (final Field field : pojo.fields) set(field, value, readValue(in));
+        return value;
+      }
+      case JAVA: {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+          return ois.readObject();
+        }
+      }
+      case -1: throw new EOFException();
+      default: throw new StreamCorruptedException("unknown type tag: " + tag);
+    }
+  }
+
+  private void writeCollection(final DataOutputStream out, final Collection<?> collection) throws IOException {
+    writeVarLong(out, collection.size());
+    for (final Object item : collection) writeValue(out, item);
+  }
+
+  private static void writeString(final DataOutputStream out, final String value) throws IOException {
+    writeBytes(out, value.getBytes(CommonUtils.DEFAULT_CHARSET));
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    return new String(readBytes(in), CommonUtils.DEFAULT_CHARSET);
+  }
+
+  private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+    writeVarLong(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[readLength(in)];
+    in.readFully(bytes);
+
+    return bytes;
+  }
+
+  private static void writeVarLong(final DataOutputStream out, long value) throws IOException {
+    while (0L != (value & ~0x7FL)) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(final DataInputStream in) throws IOException {
+    long value = 0L;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (0 == (b & 0x80)) return value;
+    }
+
+    throw new StreamCorruptedException("malformed varint");
+  }
+
+  private static int readLength(final DataInputStream in) throws IOException {
+    final long length = readVarLong(in);
+    if (0L > length || Integer.MAX_VALUE - 8 < length) throw new StreamCorruptedException("invalid length: " + length);
+
+    return (int) length;
+  }
+
+  private static long zigzag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static int capacity(final int size) {
+    return (int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object readEnum(final Class<?> type, final String name) {
+    return Enum.valueOf((Class<? extends Enum>) type, name);
+  }
+
+  private Class<?> loadClass(final String name) throws ClassNotFoundException {
+    final Class<?> cached = classCache.get(name);
+    if (null != cached) return cached;
+
+    final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    final Class<?> type = Class.forName(name, false, null == loader ? BinaryCodec.class.getClassLoader() : loader);
+    classCache.put(name, type);
+
+    return type;
+  }
+
+  private static Object get(final Field field, final Object target) throws IOException {
+    try {
+      return field.get(target);
+    } catch (IllegalAccessException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private static void set(final Field field, final Object target, final Object value) throws IOException {
+    try {
+      field.set(target, value);
+    } catch (IllegalAccessException | IllegalArgumentException e) {
+      throw new IOException("cannot set " + field, e);
+    }
+  }
+
+  /**
+   * 등록된 POJO 유형의 생성자와 필드 정보
+   */
+  private static final class PojoType {
+    private final int id;
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final Field[] fields;
+
+    private PojoType(final int id, final Class<?> type) {
+      this.id = id;
+      this.type = type;
+
+      try {
+        this.constructor = type.getDeclaredConstructor();
+        this.constructor.setAccessible(true);
+      } catch (NoSuchMethodException e) {
+        throw new IllegalArgumentException(type.getName() + " has no default constructor", e);
+      }
+
+      final List<Field> list = new ArrayList<>();
+      for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+        for (final Field field : c.getDeclaredFields()) {
+          if (0 != (field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT))) continue;
+
+          field.setAccessible(true);
+          list.add(field);
+        }
+      }
+      list.sort(Comparator.comparing((Field f) -> f.getDeclaringClass().getName()).thenComparing(Field::getName));
+      this.fields = list.toArray(new Field[0]);
+    }
+
+    private Object newInstance() throws IOException {
+      try {
+        return constructor.newInstance();
+      } catch (ReflectiveOperationException e) {
+        throw new IOException("cannot instantiate " + type.getName(), e);
+      }
+    }
+  }
+
+}
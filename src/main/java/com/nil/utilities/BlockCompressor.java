@@ -0,0 +1,136 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * LZF 형식의 빠른 블록 압축기. 압축률 보다 속도를 우선하며 외부 라이브러리 없이 동작합니다.
+ * 제어 바이트가 32 미만이면 (값 + 1) 바이트의 리터럴, 그 이상이면 최대 8KB 이전 위치를 참조하는 반복 구간 입니다.
+ */
+final class BlockCompressor {
+
+  private static final int HASH_BITS = 14;
+  private static final int MAX_LITERAL = 32;
+  private static final int MAX_OFFSET = 1 << 13;
+  private static final int MAX_MATCH = 264;
+
+  private BlockCompressor() {
+  }
+
+  /**
+   * 입력을 압축하여 out 에 기록합니다. 압축 결과가 out 에 들어가지 않으면 -1 을 반환합니다
+   * @param in
+   * @param inOffset
+   * @param inLength
+   * @param out
+   * @return 압축된 바이트 수
+   */
+  static int compress(final byte[] in, final int inOffset, final int inLength, final byte[] out) {
+    final int[] table = new int[1 << HASH_BITS];
+    final int inEnd = inOffset + inLength;
+    final int outEnd = out.length;
+    int ip = inOffset;
+    int literal = inOffset;
+    int op = 0;
+
+    while (ip < inEnd - 2) {
+      final int seq = ((in[ip] & 0xFF) << 16) | ((in[ip + 1] & 0xFF) << 8) | (in[ip + 2] & 0xFF);
+      final int hash = (seq * 0x9E3779B1) >>> (32 - HASH_BITS);
+      final int ref = table[hash] - 1;
+      table[hash] = ip + 1;
+
+      final int offset = ip - ref - 1;
+      if (0 > ref || MAX_OFFSET <= offset
+          || in[ref] != in[ip] || in[ref + 1] != in[ip + 1] || in[ref + 2] != in[ip + 2]) {
+        ip++;
+        continue;
+      }
+
+      final int maxLength = Math.min(MAX_MATCH, inEnd - ip);
+      int length = 3;
+      while (length < maxLength && in[ref + length] == in[ip + length]) length++;
+
+      op = writeLiterals(in, literal, ip, out, op, outEnd);
+      if (0 > op || outEnd < op + 3) return -1;
+
+      final int code = length - 2;
+      if (7 > code) {
+        out[op++] = (byte) ((code << 5) | (offset >>> 8));
+      } else {
+        out[op++] = (byte) ((7 << 5) | (offset >>> 8));
+        out[op++] = (byte) (code - 7);
+      }
+      out[op++] = (byte) offset;
+
+      ip += length;
+      literal = ip;
+    }
+
+    return writeLiterals(in, literal, inEnd, out, op, outEnd);
+  }
+
+  /**
+   * 압축된 입력을 원본 크기의 배열로 복원합니다
+   * @param in
+   * @param inOffset
+   * @param inLength
+   * @param originalLength
+   * @return
+   * @throws IOException
+   */
+  static byte[] decompress(final byte[] in, final int inOffset, final int inLength, final int originalLength)
+      throws IOException {
+    final byte[] out = new byte[originalLength];
+    final int inEnd = inOffset + inLength;
+    int ip = inOffset;
+    int op = 0;
+
+    try {
+      while (ip < inEnd) {
+        final int ctrl = in[ip++] & 0xFF;
+
+        if (MAX_LITERAL > ctrl) {
+          final int length = ctrl + 1;
+          System.arraycopy(in, ip, out, op, length);
+          ip += length;
+          op += length;
+          continue;
+        }
+
+        int length = ctrl >>> 5;
+        if (7 == length) length += in[ip++] & 0xFF;
+        length += 2;
+
+        int ref = op - ((ctrl & 0x1F) << 8) - (in[ip++] & 0xFF) - 1;
+        if (0 > ref || op + length > out.length) throw new StreamCorruptedException("corrupted block");
+
+        for (int i = 0; i < length; i++) out[op++] = out[ref++];
+      }
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new StreamCorruptedException("corrupted block");
+    }
+
+    if (op != originalLength) throw new StreamCorruptedException("expected " + originalLength + " bytes but was " + op);
+
+    return out;
+  }
+
+  private static int writeLiterals(
+      final byte[] in, int from, final int to, final byte[] out, int op, final int outEnd
+  ) {
+    if (0 > op) return op;
+
+    while (from < to) {
+      final int length = Math.min(MAX_LITERAL, to - from);
+      if (outEnd < op + 1 + length) return -1;
+
+      out[op++] = (byte) (length - 1);
+      System.arraycopy(in, from, out, op, length);
+      op += length;
+      from += length;
+    }
+
+    return op;
+  }
+
+}
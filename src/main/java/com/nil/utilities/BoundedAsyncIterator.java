@@ -0,0 +1,99 @@
+package com.nil.utilities;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * 원본 Iterator 의 항목을 최대 maxInFlight 개까지만 동시에 변환하는 Iterator.
+ * 원본은 소비자가 결과를 가져가는 만큼만 읽기 때문에 메모리 사용량이 입력 크기와 무관하게 유지됩니다.
+ * @param <T>
+ * @param <U>
+ */
+final class BoundedAsyncIterator<T, U> implements Iterator<U>, AutoCloseable {
+
+  private final Iterator<? extends T> source;
+  private final Function<? super T, ? extends U> mapper;
+  private final Executor executor;
+  private final int maxInFlight;
+  private final boolean ordered;
+  private final ArrayDeque<CompletableFuture<U>> inFlight;
+  private final BlockingQueue<CompletableFuture<U>> completed;
+  private boolean closed;
+
+  BoundedAsyncIterator(
+      final Iterator<? extends T> source, final Function<? super T, ? extends U> mapper,
+      final Executor executor, final int maxInFlight, final boolean ordered
+  ) {
+    if (0 >= maxInFlight) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+
+    this.source = source;
+    this.mapper = mapper;
+    this.executor = executor;
+    this.maxInFlight = maxInFlight;
+    this.ordered = ordered;
+    this.inFlight = new ArrayDeque<>(maxInFlight);
+    this.completed = ordered ? null : new LinkedBlockingQueue<>();
+  }
+
+  @Override
+  public boolean hasNext() {
+    fill();
+
+    return !inFlight.isEmpty();
+  }
+
+  @Override
+  public U next() {
+    if (!hasNext()) throw new NoSuchElementException();
+
+    final CompletableFuture<U> future;
+    if (ordered) {
+      future = inFlight.poll();
+    } else {
+      try {
+        future = completed.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new CompletionException(e);
+      }
+      inFlight.remove(future);
+    }
+
+    try {
+      return future.join();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * 실행 대기중인 변환 작업을 취소하고 더 이상 원본을 읽지 않습니다
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for (final CompletableFuture<U> future : inFlight) future.cancel(false);
+    inFlight.clear();
+  }
+
+  private void fill() {
+    while (!closed && inFlight.size() < maxInFlight && source.hasNext()) {
+      final T item = source.next();
+      final CompletableFuture<U> future =
+          CompletableFuture.supplyAsync(AsyncUtils.instrument(() -> mapper.apply(item)), executor);
+
+      inFlight.add(future);
+      if (!ordered) future.whenComplete((value, error) -> completed.add(future));
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.nil.utilities;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 최대 항목 수가 제한된 동시성 캐시. 가득 차면 임의의 항목을 제거하고 새 항목을 저장합니다.
+ * 같은 식별자가 반복되는 변환 결과를 보관하는 용도로 사용합니다.
+ * @param <K>
+ * @param <V>
+ */
+final class BoundedCache<K, V> {
+
+  private final ConcurrentHashMap<K, V> entries;
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  BoundedCache(final int maxSize) {
+    if (0 >= maxSize) throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+    this.maxSize = maxSize;
+    this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+  }
+
+  /**
+   * 캐시된 값을 반환하고 없으면 loader 로 만들어 저장합니다
+   * @param key
+   * @param loader
+   * @return
+   */
+  V get(final K key, final Function<? super K, ? extends V> loader) {
+    final V cached = entries.get(key);
+    if (null != cached) {
+      hits.increment();
+      return cached;
+    }
+
+    misses.increment();
+    final V value = loader.apply(key);
+    if (null == value) return null;
+
+    if (entries.size() >= maxSize) evict();
+    entries.putIfAbsent(key, value);
+
+    return value;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  long getHitCount() {
+    return hits.sum();
+  }
+
+  long getMissCount() {
+    return misses.sum();
+  }
+
+  void clear() {
+    entries.clear();
+    hits.reset();
+    misses.reset();
+  }
+
+  private void evict() {
+    final Iterator<K> it = entries.keySet().iterator();
+    while (entries.size() >= maxSize && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+}
@@ -0,0 +1,185 @@
+package com.nil.utilities;
+
+import java.util.Locale;
+
+/**
+ * 식별자 표기법 변환기. 정규식 없이 한 번의 순회로 단어를 나누어 대상 표기법으로 조합합니다.
+ * 영문/숫자 이외의 문자와 소문자 다음의 대문자에서 단어를 나누며, 연속된 대문자는 약어로 보고
+ * 마지막 대문자 다음이 소문자인 경우에만 나눕니다. (HTTPServerID -> http, server, id)
+ * using) CaseConverter.convert("user_id", CaseFormat.CAMEL), new CaseConverter(CaseFormat.CAMEL, 1024).convert(column)
+ */
+public final class CaseConverter {
+
+  /**
+   * 식별자 표기법
+   */
+  public enum CaseFormat {
+    /** camelCase */
+    CAMEL,
+    /** PascalCase */
+    PASCAL,
+    /** snake_case */
+    SNAKE,
+    /** SCREAMING_SNAKE */
+    SCREAMING_SNAKE,
+    /** kebab-case */
+    KEBAB
+  }
+
+  private final CaseFormat format;
+  private final BoundedCache<String, String> cache;
+
+  /**
+   * 변환 결과를 최대 cacheSize 개까지 보관하는 변환기를 생성합니다. 같은 컬럼명 처럼 반복되는 식별자에 사용합니다
+   * @param format
+   * @param cacheSize
+   */
+  public CaseConverter(final CaseFormat format, final int cacheSize) {
+    if (null == format) throw new IllegalArgumentException("format must not be null");
+
+    this.format = format;
+    this.cache = new BoundedCache<>(cacheSize);
+  }
+
+  /**
+   * 주어진 식별자를 대상 표기법으로 변환합니다. 캐시된 결과가 있으면 그대로 반환합니다
+   * @param source
+   * @return
+   */
+  public String convert(final String source) {
+    return null == source ? null : cache.get(source, (s) -> convert(s, format));
+  }
+
+  /**
+   * 주어진 식별자를 지정된 표기법으로 변환합니다
+   * @param source
+   * @param format
+   * @return
+   */
+  public static String convert(final String source, final CaseFormat format) {
+    if (null == source) return null;
+
+    final int length = source.length();
+    final StringBuilder sb = new StringBuilder(length + 8);
+    final char separator = CaseFormat.KEBAB == format ? '-' : '_';
+    final boolean delimited = CaseFormat.CAMEL != format && CaseFormat.PASCAL != format;
+    int words = 0;
+    int i = 0;
+
+    while (i < length) {
+      while (i < length && !Character.isLetterOrDigit(source.charAt(i))) i++;
+      if (i >= length) break;
+
+      final int start = i;
+      i = wordEnd(source, start);
+
+      if (0 < words && delimited) sb.append(separator);
+      for (int j = start; j < i; j++) {
+        final char ch = source.charAt(j);
+        final boolean upper = CaseFormat.SCREAMING_SNAKE == format
+            || (j == start && (CaseFormat.PASCAL == format || (CaseFormat.CAMEL == format && 0 < words)));
+        sb.append(upper ? Character.toUpperCase(ch) : Character.toLowerCase(ch));
+      }
+      words++;
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * StringUtils.toCamelCase 의 기존 규칙 그대로 변환합니다.
+   * 영문/숫자 이외의 문자가 이어진 구간을 지우고 바로 다음 문자를 대문자로 바꾸며 나머지는 소문자로 바꿉니다.
+   * 변환할 구간이 없으면 원본을 그대로 반환합니다
+   * @param source
+   * @return ASCII 외의 문자가 있거나 기본 Locale 의 대소문자 규칙이 다른 경우 null
+   */
+  static String toCamelCase(final String source) {
+    if (!isAsciiLowerCaseSafe(source)) return null;
+
+    final int length = source.length();
+    final StringBuilder sb = new StringBuilder(length);
+    boolean matched = false;
+    int i = 0;
+
+    while (i < length) {
+      final char ch = source.charAt(i);
+      if (isAsciiAlphanumeric(ch)) {
+        sb.append(toAsciiLowerCase(ch));
+        i++;
+        continue;
+      }
+
+      int end = i;
+      while (end < length && !isAsciiAlphanumeric(source.charAt(end))) end++;
+
+      if (end < length) {
+        sb.append(toAsciiUpperCase(source.charAt(end)));
+        matched = true;
+        i = end + 1;
+        continue;
+      }
+
+      // 끝까지 구분 문자만 남은 경우 줄바꿈이 아닌 마지막 구분 문자가 대문자 변환 대상이 됩니다
+      int last = end - 1;
+      while (last > i && isLineTerminator(source.charAt(last))) last--;
+      if (last > i) {
+        sb.append(source, last, end);
+        matched = true;
+      } else {
+        sb.append(source, i, end);
+      }
+      i = end;
+    }
+
+    return matched ? sb.toString() : source;
+  }
+
+  private static int wordEnd(final String source, final int start) {
+    final int length = source.length();
+    int i = start + 1;
+
+    while (i < length) {
+      final char prev = source.charAt(i - 1);
+      final char ch = source.charAt(i);
+      if (!Character.isLetterOrDigit(ch)) break;
+
+      if (Character.isUpperCase(ch)) {
+        // fooBar, v2Api
+        if (!Character.isUpperCase(prev)) break;
+        // HTTPServer 의 S 처럼 약어 다음 단어의 시작
+        if (i + 1 < length && Character.isLowerCase(source.charAt(i + 1))) break;
+      }
+      i++;
+    }
+
+    return i;
+  }
+
+  private static boolean isAsciiLowerCaseSafe(final String source) {
+    final String language = Locale.getDefault().getLanguage();
+    if ("tr".equals(language) || "az".equals(language) || "lt".equals(language)) return false;
+
+    for (int i = 0; i < source.length(); i++) {
+      if (128 <= source.charAt(i)) return false;
+    }
+
+    return true;
+  }
+
+  private static boolean isAsciiAlphanumeric(final char ch) {
+    return ('a' <= ch && 'z' >= ch) || ('A' <= ch && 'Z' >= ch) || ('0' <= ch && '9' >= ch);
+  }
+
+  private static char toAsciiLowerCase(final char ch) {
+    return 'A' <= ch && 'Z' >= ch ? (char) (ch + 32) : ch;
+  }
+
+  private static char toAsciiUpperCase(final char ch) {
+    return 'a' <= ch && 'z' >= ch ? (char) (ch - 32) : ch;
+  }
+
+  private static boolean isLineTerminator(final char ch) {
+    return '\n' == ch || '\r' == ch;
+  }
+
+}
@@ -0,0 +1,213 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * ChunkedFileWriter 로 기록한 파일을 읽는 Reader.
+ * 파일 끝의 index 로 chunk 위치를 찾기 때문에 순차 Stream 으로 한 chunk 씩 읽거나 여러 chunk 를 병렬로 복원할 수 있습니다.
+ * using) try (ChunkedFileReader<Member> reader = new ChunkedFileReader<>(path, Member.class)) { reader.stream().forEach(...); }
+ * @param <T>
+ */
+public class ChunkedFileReader<T> implements AutoCloseable {
+
+  private final FileChannel channel;
+  private final Class<T> type;
+  private final long[] offsets;
+  private final int[] lengths;
+  private final int[] counts;
+  private final long size;
+
+  public ChunkedFileReader(final Path path, final Class<T> type) throws IOException {
+    this.type = type;
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+    try {
+      final long fileSize = channel.size();
+      if (ChunkedFileWriter.HEADER_SIZE + ChunkedFileWriter.TRAILER_SIZE > fileSize) {
+        throw new StreamCorruptedException("not a chunked file: " + path);
+      }
+
+      final ByteBuffer header = read(0L, ChunkedFileWriter.HEADER_SIZE);
+      if (ChunkedFileWriter.MAGIC != header.getInt() || ChunkedFileWriter.VERSION != header.get()) {
+        throw new StreamCorruptedException("not a chunked file: " + path);
+      }
+
+      final ByteBuffer trailer = read(fileSize - ChunkedFileWriter.TRAILER_SIZE, ChunkedFileWriter.TRAILER_SIZE);
+      final int chunkCount = trailer.getInt();
+      this.size = trailer.getLong();
+      final long indexOffset = trailer.getLong();
+      if (ChunkedFileWriter.MAGIC != trailer.getInt() || 0 > chunkCount
+          || indexOffset + (long) chunkCount * ChunkedFileWriter.INDEX_ENTRY_SIZE
+              != fileSize - ChunkedFileWriter.TRAILER_SIZE) {
+        throw new StreamCorruptedException("incomplete chunked file: " + path);
+      }
+
+      this.offsets = new long[chunkCount];
+      this.lengths = new int[chunkCount];
+      this.counts = new int[chunkCount];
+      final ByteBuffer index = read(indexOffset, chunkCount * ChunkedFileWriter.INDEX_ENTRY_SIZE);
+      for (int i = 0; i < chunkCount; i++) {
+        offsets[i] = index.getLong();
+        lengths[i] = index.getInt();
+        counts[i] = index.getInt();
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 전체 항목 수를 반환합니다
+   * @return
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * chunk 수를 반환합니다
+   * @return
+   */
+  public int getChunkCount() {
+    return offsets.length;
+  }
+
+  /**
+   * 지정된 chunk 를 읽어 반환합니다. 여러 스레드에서 동시에 호출할 수 있습니다
+   * @param idx
+   * @return
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public List<T> readChunk(final int idx) throws IOException, ClassNotFoundException {
+    final ByteBuffer payload = read(offsets[idx] + 4, lengths[idx]);
+    final List<?> values = SerializeUtil.fromBytes(payload.array(), 0, lengths[idx], List.class);
+    if (values.size() != counts[idx]) {
+      throw new StreamCorruptedException("chunk " + idx + " has " + values.size() + " items, expected " + counts[idx]);
+    }
+
+    final List<T> chunk = new ArrayList<>(values.size());
+    for (final Object value : values) chunk.add(type.cast(value));
+
+    return chunk;
+  }
+
+  /**
+   * 한 번에 한 chunk 씩 읽는 순차 Stream 을 반환합니다. 입출력 오류는 UncheckedIOException 으로 전달됩니다
+   * @return
+   */
+  public Stream<T> stream() {
+    return StreamUtils.iteratorAsStream(new Iterator<T>() {
+      private int next;
+      private Iterator<T> current = new ArrayList<T>(0).iterator();
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && next < offsets.length) current = uncheckedChunk(next++).iterator();
+
+        return current.hasNext();
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        return current.next();
+      }
+    });
+  }
+
+  /**
+   * chunk 단위로 병렬 복원하는 Stream 을 반환합니다. 순서가 필요하면 forEachOrdered 를 사용합니다
+   * @return
+   */
+  public Stream<T> parallelStream() {
+    return IntStream.range(0, offsets.length).parallel().mapToObj(this::uncheckedChunk).flatMap(List::stream);
+  }
+
+  /**
+   * 모든 chunk 를 주어진 pool 에서 병렬로 복원하여 원래 순서의 List 로 반환합니다
+   * @param pool
+   * @return
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public List<T> readAll(final ForkJoinPool pool) throws IOException, ClassNotFoundException {
+    final List<List<T>> chunks;
+    try {
+      chunks = pool.submit(() -> IntStream.range(0, offsets.length).parallel()
+          .mapToObj(this::uncheckedChunk)
+          .collect(Collectors.toList())).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+      if (cause instanceof IllegalStateException && cause.getCause() instanceof ClassNotFoundException) {
+        throw (ClassNotFoundException) cause.getCause();
+      }
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      throw new IllegalStateException(cause);
+    }
+
+    final List<T> values = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, size));
+    for (final List<T> chunk : chunks) values.addAll(chunk);
+
+    return values;
+  }
+
+  /**
+   * 모든 chunk 를 공용 ForkJoinPool 에서 병렬로 복원하여 원래 순서의 List 로 반환합니다
+   * @return
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public List<T> readAll() throws IOException, ClassNotFoundException {
+    return readAll(ForkJoinPool.commonPool());
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private List<T> uncheckedChunk(final int idx) {
+    try {
+      return readChunk(idx);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private ByteBuffer read(final long position, final int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (-1 == channel.read(buffer, position + buffer.position())) {
+        throw new StreamCorruptedException("unexpected end of file at " + (position + buffer.position()));
+      }
+    }
+    buffer.flip();
+
+    return buffer;
+  }
+
+}
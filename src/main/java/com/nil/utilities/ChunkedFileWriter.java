@@ -0,0 +1,193 @@
+package com.nil.utilities;
+
+import com.nil.utilities.SerializeUtil.Compression;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 대용량 컬렉션을 chunkSize 개 단위로 나누어 파일에 순차 기록하는 Writer.
+ * 한 번에 한 chunk 만 메모리에 유지하며 ChunkedFileReader 로 다시 읽을 수 있습니다.
+ * 기록 중 오류가 발생했거나 abort() 를 호출한 경우 close() 는 index 를 기록하지 않으므로 ChunkedFileReader 가 읽지 않습니다.
+ * 파일 구조) [magic][version] [length][chunk payload] ... [index: offset, length, count ...][chunk 수][항목 수][index 위치][magic]
+ * using) try (ChunkedFileWriter<Member> writer = new ChunkedFileWriter<>(path)) { writer.writeAll(members); }
+ * @param <T>
+ */
+public class ChunkedFileWriter<T> implements AutoCloseable {
+
+  static final int MAGIC = 0x4E494C43; // "NILC"
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = 5;
+  static final int TRAILER_SIZE = 4 + 8 + 8 + 4;
+  static final int INDEX_ENTRY_SIZE = 8 + 4 + 4;
+
+  /** 기본 chunk 당 항목 수 */
+  public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+  private final FileChannel channel;
+  private final SerializeCodec codec;
+  private final Compression compression;
+  private final int chunkSize;
+
+  private List<T> chunk;
+  private long[] offsets = new long[64];
+  private int[] lengths = new int[64];
+  private int[] counts = new int[64];
+  private int chunkCount;
+  private long size;
+  private boolean closed;
+  private boolean aborted;
+
+  public ChunkedFileWriter(final Path path) throws IOException {
+    this(path, SerializeUtil.getDefaultCodec(), SerializeUtil.getCompression(), DEFAULT_CHUNK_SIZE);
+  }
+
+  public ChunkedFileWriter(
+      final Path path, final SerializeCodec codec, final Compression compression, final int chunkSize
+  ) throws IOException {
+    if (null == codec || null == compression) throw new IllegalArgumentException("codec and compression must not be null");
+    if (0 >= chunkSize) throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+
+    this.codec = codec;
+    this.compression = compression;
+    this.chunkSize = chunkSize;
+    this.chunk = new ArrayList<>(chunkSize);
+    this.channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+    try {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).put(VERSION).flip();
+      writeFully(header);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 항목 하나를 추가합니다. chunk 가 가득 차면 파일에 기록합니다
+   * @param value
+   * @throws IOException
+   */
+  public void write(final T value) throws IOException {
+    if (closed) throw new IllegalStateException("writer is closed");
+    if (aborted) throw new IllegalStateException("writer is aborted");
+
+    chunk.add(value);
+    if (chunk.size() >= chunkSize) flushChunk();
+  }
+
+  /**
+   * 주어진 항목을 모두 추가하고 추가한 항목 수를 반환합니다
+   * @param values
+   * @return
+   * @throws IOException
+   */
+  public long writeAll(final Iterable<? extends T> values) throws IOException {
+    return writeAll(values.iterator());
+  }
+
+  /**
+   * 주어진 항목을 모두 추가하고 추가한 항목 수를 반환합니다
+   * @param values
+   * @return
+   * @throws IOException
+   */
+  public long writeAll(final Iterator<? extends T> values) throws IOException {
+    long count = 0L;
+    boolean completed = false;
+    try {
+      while (values.hasNext()) {
+        write(values.next());
+        count++;
+      }
+      completed = true;
+    } finally {
+      if (!completed) aborted = true;
+    }
+
+    return count;
+  }
+
+  /**
+   * 기록을 중단합니다. 이후 close() 는 index 를 기록하지 않고 파일만 닫습니다
+   */
+  public void abort() {
+    aborted = true;
+  }
+
+  /**
+   * 지금까지 추가된 항목 수를 반환합니다
+   * @return
+   */
+  public long size() {
+    return size + chunk.size();
+  }
+
+  /**
+   * 남은 항목과 index 를 기록하고 파일을 닫습니다. 중단된 경우 index 없이 파일만 닫습니다
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) return;
+    closed = true;
+
+    try {
+      if (aborted) return;
+      if (!chunk.isEmpty()) flushChunk();
+
+      final long indexOffset = channel.position();
+      final ByteBuffer footer = ByteBuffer.allocate(chunkCount * INDEX_ENTRY_SIZE + TRAILER_SIZE);
+      for (int i = 0; i < chunkCount; i++) footer.putLong(offsets[i]).putInt(lengths[i]).putInt(counts[i]);
+      footer.putInt(chunkCount).putLong(size).putLong(indexOffset).putInt(MAGIC).flip();
+      writeFully(footer);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void flushChunk() throws IOException {
+    final SerializeUtil.Buffer payload = new SerializeUtil.Buffer();
+    final long offset;
+    boolean written = false;
+    try {
+      SerializeUtil.serialize(chunk, codec, compression, payload);
+
+      offset = channel.position();
+      final ByteBuffer length = ByteBuffer.allocate(4);
+      length.putInt(payload.size()).flip();
+      writeFully(length);
+      writeFully(payload.toByteBuffer());
+      written = true;
+    } finally {
+      if (!written) aborted = true;
+    }
+
+    // 기록이 끝난 chunk 만 index 에 추가합니다
+    if (chunkCount == offsets.length) {
+      offsets = Arrays.copyOf(offsets, chunkCount << 1);
+      lengths = Arrays.copyOf(lengths, chunkCount << 1);
+      counts = Arrays.copyOf(counts, chunkCount << 1);
+    }
+    offsets[chunkCount] = offset;
+    lengths[chunkCount] = payload.size();
+    counts[chunkCount] = chunk.size();
+    chunkCount++;
+    size += chunk.size();
+
+    chunk = new ArrayList<>(chunkSize);
+  }
+
+  private void writeFully(final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) channel.write(buffer);
+  }
+
+}
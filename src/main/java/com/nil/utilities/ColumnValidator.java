@@ -0,0 +1,267 @@
+package com.nil.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 컬럼 단위 일괄 검증기. CSV 등에서 읽은 한 컬럼의 값을 지정된 규칙으로 검증하여 실패한 행을 bitset 으로 반환합니다.
+ * 행은 64개 단위로 나누어 병렬로 검증하며, 각 작업은 서로 다른 long 단위에만 기록하므로 동기화가 필요 없습니다.
+ * null 값은 모든 규칙에서 실패로 처리합니다.
+ * using) ColumnValidator.validate(emails, Rule.EMAIL).getFailures().stream().forEach(row -> ...)
+ */
+public abstract class ColumnValidator {
+
+  /**
+   * 검증 규칙
+   */
+  public enum Rule {
+    /** Formatters.isValidNumber */
+    NUMBER(Formatters::isValidNumber),
+    /** Formatters.EMAIL_PATTERN 과 같은 규칙 */
+    EMAIL(EmailValidator::isValid),
+    /** Formatters.isBase64String */
+    BASE64(Base64Engine::isValid),
+    /** DateUtils.hasValidDate */
+    DATE(DateUtils::hasValidDate);
+
+    private final Predicate<String> predicate;
+
+    Rule(final Predicate<String> predicate) {
+      this.predicate = predicate;
+    }
+
+    private boolean test(final String value) {
+      return null != value && predicate.test(value);
+    }
+  }
+
+  /**
+   * 주어진 컬럼을 검증합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 검증합니다
+   * @param column
+   * @param rules 모든 규칙을 통과해야 유효한 행 입니다
+   * @return
+   */
+  public static Result validate(final String[] column, final Rule... rules) {
+    return validate(Arrays.asList(column), rules);
+  }
+
+  /**
+   * 주어진 컬럼을 검증합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 검증합니다
+   * @param column
+   * @param rules 모든 규칙을 통과해야 유효한 행 입니다
+   * @return
+   */
+  public static Result validate(final List<String> column, final Rule... rules) {
+    return validate(column, StreamUtils.PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), rules);
+  }
+
+  /**
+   * 주어진 Stream 을 모두 읽어 검증합니다. 행 번호는 Stream 의 순서 입니다
+   * @param column
+   * @param rules 모든 규칙을 통과해야 유효한 행 입니다
+   * @return
+   */
+  public static Result validate(final Stream<String> column, final Rule... rules) {
+    return validate(column.collect(Collectors.toList()), rules);
+  }
+
+  /**
+   * 주어진 컬럼을 검증합니다. 행 수가 parallelThreshold 이상이면 지정된 ForkJoinPool 에서 병렬로 검증합니다
+   * @param column
+   * @param parallelThreshold
+   * @param pool
+   * @param rules 모든 규칙을 통과해야 유효한 행 입니다
+   * @return
+   */
+  public static Result validate(
+      final List<String> column, final int parallelThreshold, final ForkJoinPool pool, final Rule... rules
+  ) {
+    if (null == column) throw new IllegalArgumentException("column must not be null");
+    if (null == rules || 0 == rules.length) throw new IllegalArgumentException("rules must not be empty");
+
+    final EnumSet<Rule> set = EnumSet.noneOf(Rule.class);
+    Collections.addAll(set, rules);
+
+    final Rule[] applied = set.toArray(new Rule[0]);
+    final int size = column.size();
+    final long[][] words = new long[applied.length][(size + 63) >>> 6];
+
+    if (size < Math.max(2, parallelThreshold)) {
+      validate(column, applied, words, 0, words[0].length);
+    } else {
+      final List<String> source = column instanceof RandomAccess ? column : new ArrayList<>(column);
+      final int grain = Math.max(1, words[0].length / (pool.getParallelism() * 8));
+      pool.invoke(new ValidateAction(source, applied, words, 0, words[0].length, grain));
+    }
+
+    return new Result(applied, words, size);
+  }
+
+  private static void validate(
+      final List<String> column, final Rule[] rules, final long[][] words, final int fromWord, final int toWord
+  ) {
+    final int size = column.size();
+    for (int word = fromWord; word < toWord; word++) {
+      final int end = Math.min(size, (word + 1) << 6);
+      for (int row = word << 6; row < end; row++) {
+        final String value = column.get(row);
+        for (int r = 0; r < rules.length; r++) {
+          if (!rules[r].test(value)) words[r][word] |= 1L << row;
+        }
+      }
+    }
+  }
+
+  /**
+   * 검증 결과. 규칙별 실패 행과 전체 실패 행을 bitset 으로 보관합니다
+   */
+  public static final class Result {
+    private final Rule[] rules;
+    private final long[][] words;
+    private final long[] failures;
+    private final int size;
+    private final int[] counts;
+    private final int failureCount;
+
+    private Result(final Rule[] rules, final long[][] words, final int size) {
+      this.rules = rules;
+      this.words = words;
+      this.size = size;
+      this.failures = new long[words[0].length];
+      this.counts = new int[rules.length];
+
+      int total = 0;
+      for (int w = 0; w < failures.length; w++) {
+        for (int r = 0; r < rules.length; r++) {
+          failures[w] |= words[r][w];
+          counts[r] += Long.bitCount(words[r][w]);
+        }
+        total += Long.bitCount(failures[w]);
+      }
+      this.failureCount = total;
+    }
+
+    /**
+     * 검증한 행 수를 반환합니다
+     * @return
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * 모든 행이 유효한지 확인합니다
+     * @return
+     */
+    public boolean isValid() {
+      return 0 == failureCount;
+    }
+
+    /**
+     * 주어진 행이 모든 규칙을 통과했는지 확인합니다
+     * @param row
+     * @return
+     */
+    public boolean isValid(final int row) {
+      if (0 > row || size <= row) throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+
+      return 0 == (failures[row >>> 6] & (1L << row));
+    }
+
+    /**
+     * 하나 이상의 규칙에 실패한 행 수를 반환합니다
+     * @return
+     */
+    public int getFailureCount() {
+      return failureCount;
+    }
+
+    /**
+     * 주어진 규칙에 실패한 행 수를 반환합니다
+     * @param rule
+     * @return 검증하지 않은 규칙인 경우 0
+     */
+    public int getFailureCount(final Rule rule) {
+      final int idx = indexOf(rule);
+
+      return 0 > idx ? 0 : counts[idx];
+    }
+
+    /**
+     * 하나 이상의 규칙에 실패한 행 번호를 반환합니다
+     * @return
+     */
+    public BitSet getFailures() {
+      return BitSet.valueOf(failures);
+    }
+
+    /**
+     * 주어진 규칙에 실패한 행 번호를 반환합니다
+     * @param rule
+     * @return 검증하지 않은 규칙인 경우 빈 BitSet
+     */
+    public BitSet getFailures(final Rule rule) {
+      final int idx = indexOf(rule);
+
+      return 0 > idx ? new BitSet() : BitSet.valueOf(words[idx]);
+    }
+
+    private int indexOf(final Rule rule) {
+      for (int i = 0; i < rules.length; i++) {
+        if (rules[i] == rule) return i;
+      }
+
+      return -1;
+    }
+  }
+
+  /**
+   * 64개 행 단위로 나눈 구간을 검증하는 ForkJoin 작업
+   */
+  private static final class ValidateAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> column;
+    private final Rule[] rules;
+    private final long[][] words;
+    private final int lo;
+    private final int hi;
+    private final int grain;
+
+    private ValidateAction(
+        final List<String> column, final Rule[] rules, final long[][] words, final int lo, final int hi, final int grain
+    ) {
+      this.column = column;
+      this.rules = rules;
+      this.words = words;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= grain) {
+        validate(column, rules, words, lo, hi);
+        return;
+      }
+
+      final int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new ValidateAction(column, rules, words, lo, mid, grain),
+          new ValidateAction(column, rules, words, mid, hi, grain)
+      );
+    }
+  }
+
+}
@@ -1,7 +1,6 @@
 package com.nil.utilities;
 
 import java.lang.reflect.Array;
-import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -157,9 +156,7 @@ public abstract class CommonUtils {
       final Cipher cipher = Cipher.getInstance("RSA");
       cipher.init(Cipher.DECRYPT_MODE, key);
       final String urlSafeBase64 = StringUtils.replace(
-          StringUtils.replace(URLDecoder.decode(encodedText, DEFAULT_ENCODING), "%20", "+"),
-          " ", "+"
-      );
+          UrlCodec.decode(encodedText, UrlCodec.Mode.COMPONENT).replace(' ', '+'), "%20", "+");
       final byte[] decoded = cipher.doFinal(StringUtils.decodeBase64(urlSafeBase64));
       return new String(decoded, DEFAULT_CHARSET);
     } catch (Exception e) {
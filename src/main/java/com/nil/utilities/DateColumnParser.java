@@ -0,0 +1,353 @@
+package com.nil.utilities;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 컬럼 단위 일괄 시각 변환기. DateUtils.stringToZonedDatetime 과 같은 결과를 만들되, 형식은 앞의 몇 행으로 한 번만 판별하고
+ * 나머지 행은 판별된 형식의 고정 길이 파서로 변환합니다. 형식이 다른 행만 stringToZonedDatetime 으로 하나씩 변환합니다.
+ * <ul>
+ *   <li>ISO_UTC: yyyy-MM-dd'T'HH:mm:ss.SSS'Z' -> UTC</li>
+ *   <li>ISO_OFFSET: yyyy-MM-dd'T'HH:mm:ss.SSS+HHmm -> 기본 시간대</li>
+ *   <li>DIGITS: T 가 없는 값. DateUtils.stringToDate 의 규칙으로 읽고 UTC 로 변환합니다</li>
+ * </ul>
+ * 행 수가 parallelThreshold 이상이면 구간으로 나누어 병렬로 변환합니다. 변환할 수 없는 행은 INVALID (ZonedDateTime[] 은 null) 입니다.
+ * using) DateColumnParser.toEpochMillis(column), DateColumnParser.toZonedDateTimes(lines.stream().map(line -> line.split(",")[3]))
+ */
+public abstract class DateColumnParser {
+
+  /** 변환할 수 없는 행의 epoch millis */
+  public static final long INVALID = Long.MIN_VALUE;
+
+  /** 형식 판별에 사용하는 최대 행 수 */
+  private static final int SAMPLE_SIZE = 16;
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  /**
+   * 판별된 형식
+   */
+  private enum Format {
+    ISO_UTC,
+    ISO_OFFSET,
+    DIGITS
+  }
+
+  /**
+   * 주어진 컬럼을 epoch millis 로 변환합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 변환합니다
+   * @param column
+   * @return 변환할 수 없는 행은 INVALID
+   */
+  public static long[] toEpochMillis(final String[] column) {
+    return toEpochMillis(Arrays.asList(column));
+  }
+
+  /**
+   * 주어진 컬럼을 epoch millis 로 변환합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 변환합니다
+   * @param column
+   * @return 변환할 수 없는 행은 INVALID
+   */
+  public static long[] toEpochMillis(final List<String> column) {
+    return toEpochMillis(column, StreamUtils.PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 주어진 Stream 을 모두 읽어 epoch millis 로 변환합니다. 결과의 순서는 Stream 의 순서 입니다
+   * @param column
+   * @return 변환할 수 없는 행은 INVALID
+   */
+  public static long[] toEpochMillis(final Stream<String> column) {
+    return toEpochMillis(column.collect(Collectors.toList()));
+  }
+
+  /**
+   * 주어진 컬럼을 epoch millis 로 변환합니다. 행 수가 parallelThreshold 이상이면 지정된 ForkJoinPool 에서 병렬로 변환합니다
+   * @param column
+   * @param parallelThreshold
+   * @param pool
+   * @return 변환할 수 없는 행은 INVALID
+   */
+  public static long[] toEpochMillis(final List<String> column, final int parallelThreshold, final ForkJoinPool pool) {
+    final long[] millis = new long[null == column ? 0 : column.size()];
+    parse(column, parallelThreshold, pool, millis, null);
+
+    return millis;
+  }
+
+  /**
+   * 주어진 컬럼을 ZonedDateTime 으로 변환합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 변환합니다
+   * @param column
+   * @return 변환할 수 없는 행은 null
+   */
+  public static ZonedDateTime[] toZonedDateTimes(final String[] column) {
+    return toZonedDateTimes(Arrays.asList(column));
+  }
+
+  /**
+   * 주어진 컬럼을 ZonedDateTime 으로 변환합니다. 행 수가 StreamUtils.PARALLEL_THRESHOLD 이상이면 ForkJoin 공용 풀에서 병렬로 변환합니다
+   * @param column
+   * @return 변환할 수 없는 행은 null
+   */
+  public static ZonedDateTime[] toZonedDateTimes(final List<String> column) {
+    return toZonedDateTimes(column, StreamUtils.PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 주어진 Stream 을 모두 읽어 ZonedDateTime 으로 변환합니다. 결과의 순서는 Stream 의 순서 입니다
+   * @param column
+   * @return 변환할 수 없는 행은 null
+   */
+  public static ZonedDateTime[] toZonedDateTimes(final Stream<String> column) {
+    return toZonedDateTimes(column.collect(Collectors.toList()));
+  }
+
+  /**
+   * 주어진 컬럼을 ZonedDateTime 으로 변환합니다. 행 수가 parallelThreshold 이상이면 지정된 ForkJoinPool 에서 병렬로 변환합니다
+   * @param column
+   * @param parallelThreshold
+   * @param pool
+   * @return 변환할 수 없는 행은 null
+   */
+  public static ZonedDateTime[] toZonedDateTimes(
+      final List<String> column, final int parallelThreshold, final ForkJoinPool pool
+  ) {
+    final ZonedDateTime[] zoned = new ZonedDateTime[null == column ? 0 : column.size()];
+    parse(column, parallelThreshold, pool, null, zoned);
+
+    return zoned;
+  }
+
+  private static void parse(
+      final List<String> column, final int parallelThreshold, final ForkJoinPool pool,
+      final long[] millis, final ZonedDateTime[] zoned
+  ) {
+    if (null == column) throw new IllegalArgumentException("column must not be null");
+
+    // 행 번호로 읽으므로 LinkedList 등은 먼저 복사합니다
+    final List<String> source = column instanceof RandomAccess ? column : new ArrayList<>(column);
+    final Parser parser = new Parser(detect(source), ZoneId.systemDefault(), millis, zoned);
+    final int size = source.size();
+
+    if (size < Math.max(2, parallelThreshold)) {
+      parser.parse(source, 0, size);
+    } else {
+      final int grain = Math.max(1, size / (pool.getParallelism() * 8));
+      pool.invoke(new ParseAction(source, parser, 0, size, grain));
+    }
+  }
+
+  /**
+   * 앞의 SAMPLE_SIZE 개 행에서 가장 많이 일치하는 형식을 반환합니다
+   * @return 일치하는 행이 없는 경우 null
+   */
+  private static Format detect(final List<String> column) {
+    final int[] counts = new int[Format.values().length];
+    int sampled = 0;
+
+    for (final String value : column) {
+      if (SAMPLE_SIZE <= sampled) break;
+      if (null == value) continue;
+
+      final Format format = classify(value);
+      if (null != format) counts[format.ordinal()]++;
+      sampled++;
+    }
+
+    Format detected = null;
+    for (final Format format : Format.values()) {
+      if (0 < counts[format.ordinal()] && (null == detected || counts[detected.ordinal()] < counts[format.ordinal()])) {
+        detected = format;
+      }
+    }
+
+    return detected;
+  }
+
+  private static Format classify(final String value) {
+    if (24 == value.length() && isIsoLayout(value) && 'Z' == value.charAt(23)) return Format.ISO_UTC;
+    if (28 == value.length() && isIsoLayout(value) && isOffsetLayout(value)) return Format.ISO_OFFSET;
+    if (0 > value.indexOf('T')) return Format.DIGITS;
+
+    return null;
+  }
+
+  /**
+   * yyyy-MM-dd'T'HH:mm:ss.SSS 까지의 배치를 확인합니다
+   */
+  private static boolean isIsoLayout(final String value) {
+    for (int i = 0; i < 23; i++) {
+      final char ch = value.charAt(i);
+      switch (i) {
+        case 4: case 7: if ('-' != ch) return false; break;
+        case 10: if ('T' != ch) return false; break;
+        case 13: case 16: if (':' != ch) return false; break;
+        case 19: if ('.' != ch) return false; break;
+        default: if ('0' > ch || '9' < ch) return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isOffsetLayout(final String value) {
+    final char sign = value.charAt(23);
+    if ('+' != sign && '-' != sign) return false;
+
+    for (int i = 24; i < 28; i++) {
+      if ('0' > value.charAt(i) || '9' < value.charAt(i)) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * yyyy-MM-dd'T'HH:mm:ss.SSS 를 UTC 기준 epoch millis 로 변환합니다
+   * @return 범위를 벗어난 경우 INVALID
+   */
+  private static long toLocalMillis(final String value) {
+    final long packed = TimestampParser.pack(
+        digits(value, 0, 4), digits(value, 5, 2), digits(value, 8, 2),
+        digits(value, 11, 2), digits(value, 14, 2), digits(value, 17, 2)
+    );
+    if (0 > packed) return INVALID;
+
+    return TimestampParser.toLocalEpochSecond(packed) * 1000L + digits(value, 20, 3);
+  }
+
+  private static int digits(final String value, final int from, final int count) {
+    int result = 0;
+    for (int i = from; i < from + count; i++) result = result * 10 + (value.charAt(i) - '0');
+
+    return result;
+  }
+
+  /**
+   * 판별된 형식으로 각 행을 변환하여 millis 또는 zoned 에 기록합니다
+   */
+  private static final class Parser {
+    private final Format format;
+    private final ZoneId fastZone;
+    private final boolean gregorian;
+    private final long[] millis;
+    private final ZonedDateTime[] zoned;
+
+    private Parser(final Format format, final ZoneId zone, final long[] millis, final ZonedDateTime[] zoned) {
+      this.format = format;
+      this.fastZone = Format.ISO_UTC == format ? ZoneOffset.UTC : Format.ISO_OFFSET == format ? zone : UTC;
+      // ISO_OFFSET 은 기본 locale 의 SimpleDateFormat 으로 읽으므로 그레고리력이 아닌 경우 직접 변환하지 않습니다
+      this.gregorian = "gregory".equals(Calendar.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getCalendarType());
+      this.millis = millis;
+      this.zoned = zoned;
+    }
+
+    private void parse(final List<String> column, final int from, final int to) {
+      for (int row = from; row < to; row++) {
+        final String value = column.get(row);
+        final long fast = null == value ? INVALID : parseFast(value);
+
+        if (INVALID != fast) {
+          if (null == zoned) {
+            millis[row] = fast;
+          } else {
+            zoned[row] = Instant.ofEpochMilli(fast).atZone(fastZone);
+          }
+          continue;
+        }
+
+        final ZonedDateTime parsed = null == value ? null : parseLegacy(value);
+        if (null == zoned) {
+          millis[row] = null == parsed ? INVALID : parsed.toInstant().toEpochMilli();
+        } else {
+          zoned[row] = parsed;
+        }
+      }
+    }
+
+    /**
+     * 판별된 형식과 같은 행만 변환합니다
+     * @return 형식이 다르거나 stringToZonedDatetime 과 같은 결과를 보장할 수 없는 경우 INVALID
+     */
+    private long parseFast(final String value) {
+      if (null == format || format != classify(value)) return INVALID;
+
+      switch (format) {
+        case ISO_UTC:
+          return toLocalMillis(value);
+        case ISO_OFFSET:
+          // SimpleDateFormat 은 1582년 이전을 율리우스력으로 계산합니다
+          if (!gregorian || 1600 > digits(value, 0, 4)) return INVALID;
+          final int hours = digits(value, 24, 2);
+          final int minutes = digits(value, 26, 2);
+          if (23 < hours || 59 < minutes) return INVALID;
+
+          final long local = toLocalMillis(value);
+          if (INVALID == local) return INVALID;
+          return local - ('-' == value.charAt(23) ? -1 : 1) * (hours * 60 + minutes) * 60_000L;
+        default:
+          try {
+            final Date date = DateUtils.stringToDate(value);
+            return null == date ? INVALID : date.getTime();
+          } catch (ParseException e) {
+            return INVALID;
+          }
+      }
+    }
+
+    private static ZonedDateTime parseLegacy(final String value) {
+      try {
+        return DateUtils.stringToZonedDatetime(value);
+      } catch (ParseException | RuntimeException e) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * 행 구간을 나누어 변환하는 ForkJoin 작업
+   */
+  private static final class ParseAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> column;
+    private final Parser parser;
+    private final int lo;
+    private final int hi;
+    private final int grain;
+
+    private ParseAction(final List<String> column, final Parser parser, final int lo, final int hi, final int grain) {
+      this.column = column;
+      this.parser = parser;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= grain) {
+        parser.parse(column, lo, hi);
+        return;
+      }
+
+      final int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new ParseAction(column, parser, lo, mid, grain),
+          new ParseAction(column, parser, mid, hi, grain)
+      );
+    }
+  }
+
+}
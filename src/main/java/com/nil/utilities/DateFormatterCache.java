@@ -0,0 +1,193 @@
+package com.nil.utilities;
+
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * SimpleDateFormat 형식의 pattern 을 같은 결과를 만드는 DateTimeFormatter 로 변환하여 (pattern, locale, zone) 별로 보관하는 캐시.
+ * 숫자로만 출력되는 y M d H m s SSS 필드와 따옴표 문자열로 구성된 pattern 만 변환하며,
+ * 그레고리력이 아니거나 0~9 외의 숫자를 쓰는 locale 은 변환하지 않습니다.
+ * 캐시는 최대 MAX_SIZE 개로 제한되므로 동적으로 만들어진 pattern 이 많아도 메모리가 늘지 않습니다.
+ * using) DateFormatterCache.get("yyyy-MM-dd HH:mm:ss", Locale.KOREA, ZoneId.systemDefault())
+ */
+public abstract class DateFormatterCache {
+
+  public static final int MAX_SIZE = 512;
+
+  /**
+   * 1970-01-01T00:00:00Z ~ 2036-01-01T00:00:00Z. 범위 밖의 시각은 율리우스력 전환, 지방시,
+   * 2037년 이후의 서머타임 규칙 등이 TimeZone 과 ZoneRules 에서 다르게 계산되므로 SimpleDateFormat 을 사용합니다
+   */
+  static final long MIN_MILLIS = 0L;
+  static final long MAX_MILLIS = 2082758400000L;
+
+  private static final BoundedCache<Key, Optional<DateTimeFormatter>> CACHE = new BoundedCache<>(MAX_SIZE);
+
+  /**
+   * 주어진 SimpleDateFormat pattern 과 같은 결과를 만드는 DateTimeFormatter 를 반환합니다
+   * @param pattern SimpleDateFormat 형식
+   * @param locale
+   * @param zone
+   * @return 같은 결과를 보장할 수 없는 pattern 또는 locale 인 경우 null
+   */
+  public static DateTimeFormatter get(final String pattern, final Locale locale, final ZoneId zone) {
+    if (null == pattern || null == locale || null == zone) return null;
+
+    return CACHE.get(new Key(pattern, locale, zone), DateFormatterCache::create).orElse(null);
+  }
+
+  /**
+   * 주어진 시각을 SimpleDateFormat 과 같은 결과로 변환합니다. 변환할 수 없는 pattern 인 경우 SimpleDateFormat 을 사용합니다
+   * @param epochMillis
+   * @param zone
+   * @param locale
+   * @param pattern SimpleDateFormat 형식
+   * @return
+   */
+  public static String format(final long epochMillis, final ZoneId zone, final Locale locale, final String pattern) {
+    final DateTimeFormatter formatter = MIN_MILLIS <= epochMillis && MAX_MILLIS > epochMillis
+        ? get(pattern, locale, zone)
+        : null;
+    if (null != formatter) return formatter.format(Instant.ofEpochMilli(epochMillis));
+
+    final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
+    format.setTimeZone(TimeZone.getTimeZone(zone));
+
+    return format.format(new Date(epochMillis));
+  }
+
+  public static int size() {
+    return CACHE.size();
+  }
+
+  public static long getHitCount() {
+    return CACHE.getHitCount();
+  }
+
+  public static long getMissCount() {
+    return CACHE.getMissCount();
+  }
+
+  /**
+   * 캐시와 통계를 초기화 합니다
+   */
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  private static Optional<DateTimeFormatter> create(final Key key) {
+    if (!"gregory".equals(Calendar.getInstance(key.locale).getCalendarType())) return Optional.empty();
+    if ('0' != DecimalFormatSymbols.getInstance(key.locale).getZeroDigit()) return Optional.empty();
+
+    final String pattern = toJavaTimePattern(key.pattern);
+    if (null == pattern) return Optional.empty();
+
+    return Optional.of(DateTimeFormatter.ofPattern(pattern, key.locale).withZone(key.zone));
+  }
+
+  /**
+   * SimpleDateFormat pattern 을 DateTimeFormatter pattern 으로 변환합니다.
+   * 두 형식은 따옴표와 예약 문자의 해석이 다르므로 필드가 아닌 문자는 모두 따옴표로 감싸서 변환합니다
+   * @param pattern
+   * @return 결과가 같지 않을 수 있는 필드가 있거나 따옴표가 닫히지 않은 경우 null
+   */
+  static String toJavaTimePattern(final String pattern) {
+    final int length = pattern.length();
+    final StringBuilder sb = new StringBuilder(length + 8);
+    final StringBuilder literal = new StringBuilder();
+    boolean quoted = false;
+    int i = 0;
+
+    while (i < length) {
+      final char ch = pattern.charAt(i);
+
+      if ('\'' == ch) {
+        // SimpleDateFormat 은 따옴표 안팎 모두 '' 을 따옴표 문자로 처리합니다
+        if (i + 1 < length && '\'' == pattern.charAt(i + 1)) {
+          literal.append(ch);
+          i += 2;
+        } else {
+          quoted = !quoted;
+          i++;
+        }
+        continue;
+      }
+
+      if (!quoted && (('a' <= ch && 'z' >= ch) || ('A' <= ch && 'Z' >= ch))) {
+        int end = i + 1;
+        while (end < length && ch == pattern.charAt(end)) end++;
+        if (!isSupported(ch, end - i)) return null;
+
+        appendLiteral(sb, literal);
+        sb.append(pattern, i, end);
+        i = end;
+        continue;
+      }
+
+      literal.append(ch);
+      i++;
+    }
+    if (quoted) return null;
+    appendLiteral(sb, literal);
+
+    return sb.toString();
+  }
+
+  private static void appendLiteral(final StringBuilder sb, final StringBuilder literal) {
+    if (0 == literal.length()) return;
+
+    sb.append('\'');
+    for (int i = 0; i < literal.length(); i++) {
+      final char ch = literal.charAt(i);
+      if ('\'' == ch) sb.append('\'');
+      sb.append(ch);
+    }
+    sb.append('\'');
+    literal.setLength(0);
+  }
+
+  private static boolean isSupported(final char letter, final int count) {
+    switch (letter) {
+      case 'y': return 4 >= count;
+      case 'M': case 'd': case 'H': case 'm': case 's': return 2 >= count;
+      case 'S': return 3 == count;
+      default: return false;
+    }
+  }
+
+  private static final class Key {
+    private final String pattern;
+    private final Locale locale;
+    private final ZoneId zone;
+
+    private Key(final String pattern, final Locale locale, final ZoneId zone) {
+      this.pattern = pattern;
+      this.locale = locale;
+      this.zone = zone;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+
+      final Key key = (Key) o;
+      return pattern.equals(key.pattern) && locale.equals(key.locale) && zone.equals(key.zone);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(pattern, locale, zone);
+    }
+  }
+
+}
@@ -2,15 +2,16 @@ package com.nil.utilities;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.time.LocalDate;
+import java.time.Instant;
+import java.time.Month;
 import java.time.OffsetDateTime;
+import java.time.Year;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.regex.Pattern;
 
@@ -22,7 +23,7 @@ public abstract class DateUtils {
       Pattern.compile("(\\d){4}\\-(\\d){2}\\-(\\d){2}T(\\d){2}:(\\d){2}:(\\d){2}\\.(\\d){3}[\\+|\\-](\\d){4}");
 
   public final static String getTimeStampString(final String format) {
-    return getTimeStampString(java.util.Locale.KOREA, format);
+    return TimestampRenderer.SYSTEM.render(format);
   }
 
   public final static String getTimeStampString(final Locale locale, final String format) {
@@ -38,7 +39,25 @@ public abstract class DateUtils {
   }
 
   public final static String getTimeStampString(final Date date, final Locale locale, final String format) {
-    return new java.text.SimpleDateFormat(format, locale).format(date);
+    return DateFormatterCache.format(date.getTime(), ZoneId.systemDefault(), locale, format);
+  }
+
+  /**
+   * 주어진 시각을 지정된 시간대의 SimpleDateFormat 형식 문자열로 변환합니다. 자주 쓰는 형식은 DateFormatterCache 의 formatter 를 사용합니다
+   * @param instant
+   * @param zone
+   * @param locale
+   * @param format
+   * @return
+   */
+  public final static String getTimeStampString(
+      final Instant instant, final ZoneId zone, final Locale locale, final String format
+  ) {
+    return DateFormatterCache.format(instant.toEpochMilli(), zone, locale, format);
+  }
+
+  public final static String getTimeStampString(final Instant instant, final String format) {
+    return getTimeStampString(instant, ZoneId.systemDefault(), java.util.Locale.KOREA, format);
   }
 
   public final static String getTimeStampString(final ZonedDateTime date, final String format) {
@@ -46,7 +65,7 @@ public abstract class DateUtils {
   }
 
   public final static String getTimeStampString(final ZonedDateTime date, final Locale locale, final String format) {
-    return getTimeStampString(java.sql.Date.from(date.toInstant()), locale, format);
+    return getTimeStampString(date.toInstant(), ZoneId.systemDefault(), locale, format);
   }
 
   public final static Date getOffsetDate(final long offset) {
@@ -57,6 +76,19 @@ public abstract class DateUtils {
   public final static Date stringToDate(String date) throws ParseException {
     if(StringUtils.hasEmpty(date)) return null;
 
+    final long packed = TimestampParser.toPackedDigits(date);
+    if (TimestampParser.INVALID == packed) return null;
+
+    // 범위 안의 값은 lenient 보정이 없으므로 offset 이 하나로 정해지는 시각이면 직접 계산합니다
+    if (0 <= packed) {
+      final List<ZoneOffset> offsets =
+          ZoneId.systemDefault().getRules().getValidOffsets(TimestampParser.toLocalDateTime(packed));
+      if (1 == offsets.size()) {
+        final long millis = (TimestampParser.toLocalEpochSecond(packed) - offsets.get(0).getTotalSeconds()) * 1000L;
+        if (DateFormatterCache.MIN_MILLIS <= millis && DateFormatterCache.MAX_MILLIS > millis) return new Date(millis);
+      }
+    }
+
     date	= date.replaceAll("[^\\d]", "");
 
     if(14 < date.length()) date = date.substring(0, 14);
@@ -160,16 +192,48 @@ public abstract class DateUtils {
   }
 
   public final static boolean hasValidDate(final String ymd) {
-    if (!ymd.matches("^(\\d{4}).?(\\d{2}).?(\\d{2})$")) return false;
+    final int length = ymd.length();
+    final int monthAt;
+    final int dayAt;
+
+    // ^(\d{4}).?(\d{2}).?(\d{2})$ 의 구분 문자는 숫자가 아니어야 8자리 날짜가 됩니다
+    if (8 == length) {
+      monthAt = 4;
+      dayAt = 6;
+    } else if (10 == length) {
+      if (!isSeparator(ymd.charAt(4)) || !isSeparator(ymd.charAt(7))) return false;
+      monthAt = 5;
+      dayAt = 8;
+    } else if (9 == length) {
+      monthAt = isSeparator(ymd.charAt(4)) ? 5 : 4;
+      dayAt = 7;
+      if (4 == monthAt && !isSeparator(ymd.charAt(6))) return false;
+    } else {
+      return false;
+    }
 
-    try {
-      LocalDate.parse(ymd.replaceAll("[^\\d]", ""), DateTimeFormatter.BASIC_ISO_DATE);
-      return true;
-    } catch (DateTimeParseException e) {
-      // do nothing
+    final int year = parseDigits(ymd, 0, 4);
+    final int month = parseDigits(ymd, monthAt, 2);
+    final int day = parseDigits(ymd, dayAt, 2);
+    if (0 > year || 0 > month || 0 > day) return false;
+
+    return 1 <= month && 12 >= month && 1 <= day && Month.of(month).length(Year.isLeap(year)) >= day;
+  }
+
+  private static boolean isSeparator(final char ch) {
+    return ('0' > ch || '9' < ch) && '\n' != ch && '\r' != ch && '\u0085' != ch && '\u2028' != ch && '\u2029' != ch;
+  }
+
+  private static int parseDigits(final CharSequence src, final int from, final int count) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      final char ch = src.charAt(i);
+      if ('0' > ch || '9' < ch) return -1;
+      value = value * 10 + (ch - '0');
     }
 
-    return false;
+    return value;
   }
 
+
 }
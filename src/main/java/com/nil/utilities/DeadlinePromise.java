@@ -0,0 +1,155 @@
+package com.nil.utilities;
+
+import com.nil.utilities.PromiseResult.Status;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * 제한 시간 안에 작업 집합을 실행하고 하나라도 실패하면 나머지를 취소하는 promiseAll 구현
+ * @param <T>
+ */
+final class DeadlinePromise<T> {
+
+  private static final class Outcome {
+    private final Status status;
+    private final Object value;
+    private final Throwable error;
+    private final long finishedAt;
+
+    private Outcome(final Status status, final Object value, final Throwable error) {
+      this.status = status;
+      this.value = value;
+      this.error = error;
+      this.finishedAt = System.nanoTime();
+    }
+  }
+
+  private final Supplier<? extends T>[] suppliers;
+  private final FutureTask<?>[] runners;
+  private final ScheduledFuture<?>[] timers;
+  private final AtomicLongArray startedAt;
+  private final AtomicReferenceArray<Outcome> outcomes;
+  private final AtomicInteger remaining;
+  private final CompletableFuture<Void> settled = new CompletableFuture<>();
+  private long submittedAt;
+
+  DeadlinePromise(final Supplier<? extends T>[] suppliers) {
+    this.suppliers = suppliers;
+    this.runners = new FutureTask<?>[suppliers.length];
+    this.timers = new ScheduledFuture<?>[suppliers.length];
+    this.startedAt = new AtomicLongArray(suppliers.length);
+    this.outcomes = new AtomicReferenceArray<>(suppliers.length);
+    this.remaining = new AtomicInteger(suppliers.length);
+  }
+
+  /**
+   * 모든 작업을 실행하고 완료, 실패 또는 제한 시간 초과 중 먼저 발생한 시점까지 대기합니다
+   * @param executor
+   * @param deadline
+   * @return
+   */
+  PromiseResult<T> run(final Executor executor, final Duration deadline) {
+    submittedAt = System.nanoTime();
+    if (0 == suppliers.length) settled.complete(null);
+
+    for (int i = 0; i < suppliers.length; i++) {
+      final int idx = i;
+      final Supplier<? extends T> task = AsyncUtils.instrument(suppliers[idx]);
+      runners[idx] = new FutureTask<>(() -> execute(idx, task), null);
+    }
+    for (int i = 0; i < suppliers.length; i++) {
+      if (!(suppliers[i] instanceof AsyncUtils.Task)) continue;
+
+      final Duration timeout = ((AsyncUtils.Task<?>) suppliers[i]).getTimeout();
+      final int idx = i;
+      timers[idx] = AsyncUtils.scheduler().schedule(
+          () -> settle(idx, Status.TIMEOUT, null, new TimeoutException("task " + idx + " timed out after " + timeout)),
+          timeout.toNanos(), TimeUnit.NANOSECONDS
+      );
+    }
+    for (int i = 0; i < suppliers.length; i++) {
+      try {
+        executor.execute(runners[i]);
+      } catch (RejectedExecutionException e) {
+        settle(i, Status.FAILED, null, e);
+      }
+    }
+
+    Status pending = Status.CANCELLED;
+    String reason = "cancelled after another task failed";
+    try {
+      settled.get(Math.max(0L, deadline.toNanos() - (System.nanoTime() - submittedAt)), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      pending = Status.TIMEOUT;
+      reason = "deadline exceeded: " + deadline;
+    } catch (InterruptedException e) {
+      reason = "cancelled because the waiting thread was interrupted";
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // settled 는 정상 완료만 합니다
+    }
+
+    for (int i = 0; i < suppliers.length; i++) {
+      settle(i, pending, null, Status.TIMEOUT == pending ? new TimeoutException(reason) : new CancellationException(reason));
+      if (null != timers[i]) timers[i].cancel(false);
+    }
+
+    return toResult();
+  }
+
+  private void execute(final int idx, final Supplier<? extends T> task) {
+    startedAt.set(idx, System.nanoTime());
+    if (null != outcomes.get(idx)) return;
+
+    try {
+      settle(idx, Status.SUCCESS, task.get(), null);
+    } catch (Throwable e) {
+      settle(idx, Status.FAILED, null, e);
+    }
+  }
+
+  private boolean settle(final int idx, final Status status, final Object value, final Throwable error) {
+    if (!outcomes.compareAndSet(idx, null, new Outcome(status, value, error))) return false;
+
+    if (Status.TIMEOUT == status) AsyncUtils.notifyTimeout();
+    if (Status.TIMEOUT == status || Status.CANCELLED == status) runners[idx].cancel(true);
+    if (Status.SUCCESS != status || 0 == remaining.decrementAndGet()) settled.complete(null);
+
+    return true;
+  }
+
+  private PromiseResult<T> toResult() {
+    final int size = suppliers.length;
+    final Status[] statuses = new Status[size];
+    final Object[] values = new Object[size];
+    final Throwable[] errors = new Throwable[size];
+    final long[] waitNanos = new long[size];
+    final long[] runNanos = new long[size];
+
+    for (int i = 0; i < size; i++) {
+      final Outcome outcome = outcomes.get(i);
+      final long started = startedAt.get(i);
+
+      statuses[i] = outcome.status;
+      values[i] = outcome.value;
+      errors[i] = outcome.error;
+      waitNanos[i] = 0L == started ? outcome.finishedAt - submittedAt : started - submittedAt;
+      runNanos[i] = 0L == started ? 0L : Math.max(0L, outcome.finishedAt - started);
+    }
+
+    return new PromiseResult<>(statuses, values, errors, waitNanos, runNanos, System.nanoTime() - submittedAt);
+  }
+
+}
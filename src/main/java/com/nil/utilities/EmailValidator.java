@@ -0,0 +1,128 @@
+package com.nil.utilities;
+
+/**
+ * Formatters.EMAIL_PATTERN 과 같은 규칙을 정규식 없이 한 번의 순회로 확인하는 이메일 검증기.
+ * 역추적과 객체 생성이 없으므로 입력 길이에 비례하는 시간만 사용하며, 길이 제한을 지정하면 그보다 긴 입력은 읽지 않습니다.
+ * using) EmailValidator.isValid(email), EmailValidator.isValid(email, Mode.LENIENT, EmailValidator.MAX_LENGTH)
+ */
+public abstract class EmailValidator {
+
+  /**
+   * 검증 규칙
+   */
+  public enum Mode {
+    /** Formatters.EMAIL_PATTERN 과 같이 최상위 도메인을 2~6자의 영문으로 제한합니다 */
+    STRICT,
+    /** 최상위 도메인의 길이를 제한하지 않습니다. (.photography 등) */
+    LENIENT
+  }
+
+  /** RFC 5321 의 주소 최대 길이 */
+  public static final int MAX_LENGTH = 254;
+
+  private static final boolean[] LOCAL = new boolean[128];
+  private static final boolean[] DOMAIN = new boolean[128];
+
+  static {
+    for (char ch = 'a'; ch <= 'z'; ch++) LOCAL[ch] = DOMAIN[ch] = true;
+    for (char ch = 'A'; ch <= 'Z'; ch++) LOCAL[ch] = DOMAIN[ch] = true;
+    for (char ch = '0'; ch <= '9'; ch++) LOCAL[ch] = DOMAIN[ch] = true;
+    for (final char ch : "_!#$%&'*+/=?`{|}~^-".toCharArray()) LOCAL[ch] = true;
+    DOMAIN['-'] = true;
+  }
+
+  /**
+   * 주어진 문자열이 Formatters.EMAIL_PATTERN 의 이메일 형식인지 확인합니다.
+   * 로컬 파트는 . 으로 나뉜 비어있지 않은 구간이고, 도메인은 두 개 이상의 label 이며 마지막 label 은 2~6자의 영문 입니다
+   * @param email
+   * @return
+   */
+  public static boolean isValid(final CharSequence email) {
+    return isValid(email, Mode.STRICT, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 주어진 문자열이 이메일 형식인지 확인합니다
+   * @param email
+   * @param mode
+   * @return
+   */
+  public static boolean isValid(final CharSequence email, final Mode mode) {
+    return isValid(email, mode, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 주어진 문자열이 이메일 형식인지 확인합니다
+   * @param email
+   * @param mode
+   * @param maxLength 최대 길이. 넘는 경우 내용을 확인하지 않고 false 를 반환합니다
+   * @return
+   */
+  public static boolean isValid(final CharSequence email, final Mode mode, final int maxLength) {
+    if (null == mode) throw new IllegalArgumentException("mode must not be null");
+
+    final int length = email.length();
+    if (length > maxLength) return false;
+
+    return isValid(email, 0, length, mode);
+  }
+
+  /**
+   * 주어진 문자열의 from 부터 to 이전까지가 이메일 형식인지 확인합니다
+   * @param email
+   * @param from
+   * @param to
+   * @param mode
+   * @return
+   */
+  static boolean isValid(final CharSequence email, final int from, final int to, final Mode mode) {
+    int i = from;
+    int atom = 0;
+
+    for (; i < to; i++) {
+      final char ch = email.charAt(i);
+      if ('@' == ch) break;
+
+      if ('.' == ch) {
+        if (0 == atom) return false;
+        atom = 0;
+      } else if (128 > ch && LOCAL[ch]) {
+        atom++;
+      } else {
+        return false;
+      }
+    }
+    if (i == to || 0 == atom) return false;
+
+    int labels = 0;
+    int label = 0;
+    boolean letters = true;
+
+    for (i++; i < to; i++) {
+      final char ch = email.charAt(i);
+
+      if ('.' == ch) {
+        if (0 == label) return false;
+        labels++;
+        label = 0;
+        letters = true;
+      } else if (128 > ch && DOMAIN[ch]) {
+        label++;
+        letters &= ('a' <= ch && 'z' >= ch) || ('A' <= ch && 'Z' >= ch);
+      } else {
+        return false;
+      }
+    }
+
+    return 0 < labels && letters && 2 <= label && (Mode.LENIENT == mode || 6 >= label);
+  }
+
+  static boolean isLocalChar(final char ch) {
+    return 128 > ch && LOCAL[ch];
+  }
+
+  static boolean isDomainChar(final char ch) {
+    return 128 > ch && DOMAIN[ch];
+  }
+
+}
@@ -1,5 +1,8 @@
 package com.nil.utilities;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.regex.Pattern;
 
 public abstract class Formatters {
@@ -28,7 +31,15 @@ public abstract class Formatters {
    * @return
    */
   public final static boolean isValidNumber(final String value) {
-    return Pattern.compile("[\\d\\-\\.]+").matcher(value).matches();
+    final int length = value.length();
+    if (0 == length) return false;
+
+    for (int i = 0; i < length; i++) {
+      final char ch = value.charAt(i);
+      if (('0' > ch || '9' < ch) && '-' != ch && '.' != ch) return false;
+    }
+
+    return true;
   }
 
   /**
@@ -37,7 +48,7 @@ public abstract class Formatters {
    * @return
    */
   public final static boolean isBase64String(final String txt) {
-    return BASE64_PATTERN.matcher(txt).matches();
+    return Base64Engine.isValid(txt);
   }
 
   /**
@@ -46,7 +57,7 @@ public abstract class Formatters {
    * @return
    */
   public final static boolean isEmail(final String email) {
-    return EMAIL_PATTERN.matcher(email).matches();
+    return EmailValidator.isValid(email);
   }
 
   /**
@@ -63,12 +74,39 @@ public abstract class Formatters {
    * @param str
    * @return
    */
-  public static String phone(String str) {
-    str = StringUtils.nvl(str).trim().replaceAll("[^\\d]", "");
+  public static String phone(final String str) {
+    final StringBuilder sb = new StringBuilder(16);
+    try {
+      phone(StringUtils.nvl(str), sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * 전화번호 포맷으로 변환하여 out 에 추가합니다.
+   * 숫자만 남긴 뒤 8자리는 0000-0000, 02 로 시작하는 7자리 이상은 02-국번-0000, 그 외 8자리 이상은 000-국번-0000 형태 입니다
+   * @param str
+   * @param out
+   * @throws IOException
+   */
+  public static void phone(final CharSequence str, final Appendable out) throws IOException {
+    if (null == str) return;
+
+    final String digits = digitsOf(str);
+    final int length = digits.length();
 
-    return 8 == str.length()
-        ? str.replaceAll("(\\d{4})(\\d{4})", "$1-$2")
-        : str.replaceAll("(^02.{0}|^01\\d{1}|\\d{3})(\\d+)(\\d{4})", "$1-$2-$3");
+    if (8 == length) {
+      out.append(digits, 0, 4).append('-').append(digits, 4, 8);
+    } else if (7 <= length && digits.startsWith("02")) {
+      out.append(digits, 0, 2).append('-').append(digits, 2, length - 4).append('-').append(digits, length - 4, length);
+    } else if (8 <= length) {
+      out.append(digits, 0, 3).append('-').append(digits, 3, length - 4).append('-').append(digits, length - 4, length);
+    } else {
+      out.append(digits);
+    }
   }
 
   /**
@@ -77,12 +115,87 @@ public abstract class Formatters {
    * @return
    */
   public static String number(final String str) {
-    final String[] parts = str.split("\\.");
-    return StringUtils.nvl(parts[0]).trim()
-        .replaceAll("[^\\d|\\-]", "")
-        .replaceFirst("^0+(?!$)", "")
-        .replaceAll(NUMBER_PATTERN, "$1,") +
-        (1 < parts.length ? ".".concat(parts[1]) : "");
+    final StringBuilder sb = new StringBuilder(str.length() + 8);
+    try {
+      number(str, sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * 자릿수 단위 포맷으로 변환합니다
+   * @param value
+   * @return
+   */
+  public static String number(final long value) {
+    return number(Long.toString(value));
+  }
+
+  /**
+   * 자릿수 단위 포맷으로 변환합니다. 지수 표기 없이 변환합니다
+   * @param value
+   * @return
+   */
+  public static String number(final BigDecimal value) {
+    return number(value.toPlainString());
+  }
+
+  /**
+   * 자릿수 단위 포맷으로 변환하여 out 에 추가합니다.
+   * 첫 . 앞부분은 숫자와 - | 만 남기고 앞의 0 을 지운 뒤 세 자리마다 , 를 넣으며 두 번째 . 까지의 소수부는 그대로 붙입니다
+   * @param str
+   * @param out
+   * @throws IOException
+   * @throws IllegalArgumentException . 으로만 구성된 경우
+   */
+  public static void number(final CharSequence str, final Appendable out) throws IOException {
+    final int length = str.length();
+    int dot = 0;
+    while (dot < length && '.' != str.charAt(dot)) dot++;
+
+    // String.split("\\.") 과 같이 끝의 빈 구간은 버립니다
+    int fractionEnd = -1;
+    if (dot < length) {
+      int end = dot + 1;
+      while (end < length && '.' != str.charAt(end)) end++;
+      for (int i = dot + 1; i < length; i++) {
+        if ('.' != str.charAt(i)) {
+          fractionEnd = end;
+          break;
+        }
+      }
+      if (0 == dot && 0 > fractionEnd) throw new IllegalArgumentException("no digits: " + str);
+    }
+
+    final char[] chars = new char[dot];
+    int count = 0;
+    for (int i = 0; i < dot; i++) {
+      final char ch = str.charAt(i);
+      if (('0' <= ch && '9' >= ch) || '|' == ch || '-' == ch) chars[count++] = ch;
+    }
+
+    int from = 0;
+    while (from < count && '0' == chars[from]) from++;
+    if (from == count && 0 < count) from--;
+
+    for (int i = from; i < count; ) {
+      if ('0' > chars[i] || '9' < chars[i]) {
+        out.append(chars[i++]);
+        continue;
+      }
+
+      int end = i;
+      while (end < count && '0' <= chars[end] && '9' >= chars[end]) end++;
+      for (; i < end; i++) {
+        out.append(chars[i]);
+        if (0 < end - i - 1 && 0 == (end - i - 1) % 3) out.append(',');
+      }
+    }
+
+    if (0 <= fractionEnd) out.append('.').append(str, dot + 1, fractionEnd);
   }
 
   /**
@@ -91,9 +204,33 @@ public abstract class Formatters {
    * @return
    */
   public static String biz(final String str) {
-    return StringUtils.nvl(str).trim()
-        .replaceAll("[^\\d]", "")
-        .replaceAll(BUSINESS_NO_PATTERN, "$1-$2-$3");
+    final StringBuilder sb = new StringBuilder(16);
+    try {
+      biz(StringUtils.nvl(str), sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * 사업자 번호 포맷으로 변환하여 out 에 추가합니다. 숫자만 남긴 뒤 6자리 이상이면 000-00-나머지 형태 입니다
+   * @param str
+   * @param out
+   * @throws IOException
+   */
+  public static void biz(final CharSequence str, final Appendable out) throws IOException {
+    if (null == str) return;
+
+    final String digits = digitsOf(str);
+    final int length = digits.length();
+
+    if (6 <= length) {
+      out.append(digits, 0, 3).append('-').append(digits, 3, 5).append('-').append(digits, 5, length);
+    } else {
+      out.append(digits);
+    }
   }
 
   /**
@@ -102,9 +239,46 @@ public abstract class Formatters {
    * @return
    */
   public static String card(final String str) {
-    return StringUtils.nvl(str).trim()
-        .replaceAll("\\D", "")
-        .replaceAll(CARD_NO_PATTERN, "$1-$2-$3-$4");
+    final StringBuilder sb = new StringBuilder(24);
+    try {
+      card(StringUtils.nvl(str), sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * 카드 번호 포맷으로 변환하여 out 에 추가합니다. 숫자만 남긴 뒤 13자리 이상이면 0000-0000-0000-나머지 형태 입니다
+   * @param str
+   * @param out
+   * @throws IOException
+   */
+  public static void card(final CharSequence str, final Appendable out) throws IOException {
+    if (null == str) return;
+
+    final String digits = digitsOf(str);
+    final int length = digits.length();
+
+    if (13 <= length) {
+      out.append(digits, 0, 4).append('-').append(digits, 4, 8).append('-').append(digits, 8, 12)
+          .append('-').append(digits, 12, length);
+    } else {
+      out.append(digits);
+    }
+  }
+
+  private static String digitsOf(final CharSequence str) {
+    final int length = str.length();
+    final char[] digits = new char[length];
+    int count = 0;
+    for (int i = 0; i < length; i++) {
+      final char ch = str.charAt(i);
+      if ('0' <= ch && '9' >= ch) digits[count++] = ch;
+    }
+
+    return new String(digits, 0, count);
   }
 
 }
@@ -0,0 +1,196 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TAG 표시용 문자 변환기. 변환은 문자 표로, 복원은 작은 trie 로 한 번의 순회에 처리합니다.
+ * 변환할 문자가 없으면 원본 문자열을 그대로 반환합니다.
+ * 대상 문자) & # < > ( ) " '
+ */
+public abstract class HtmlEscaper {
+
+  private static final String[][] ENTITIES = {
+      {"&", "&amp;"}, {"#", "&#35;"}, {"<", "&lt;"}, {">", "&gt;"},
+      {"(", "&#40;"}, {")", "&#41;"}, {"\"", "&quot;"}, {"'", "&#39;"}
+  };
+
+  private static final String[] ESCAPES = new String[128];
+  private static final int[][] TRIE;
+  private static final char[] VALUES;
+
+  static {
+    final List<int[]> nodes = new ArrayList<>();
+    final List<Character> values = new ArrayList<>();
+    nodes.add(new int[128]);
+    values.add((char) 0);
+
+    for (final String[] entity : ENTITIES) {
+      final char ch = entity[0].charAt(0);
+      final String escaped = entity[1];
+      ESCAPES[ch] = escaped;
+
+      int node = 0;
+      for (int i = 0; i < escaped.length(); i++) {
+        final int c = escaped.charAt(i);
+        if (0 == nodes.get(node)[c]) {
+          nodes.get(node)[c] = nodes.size();
+          nodes.add(new int[128]);
+          values.add((char) 0);
+        }
+        node = nodes.get(node)[c];
+      }
+      values.set(node, ch);
+    }
+
+    TRIE = nodes.toArray(new int[0][]);
+    VALUES = new char[values.size()];
+    for (int i = 0; i < VALUES.length; i++) VALUES[i] = values.get(i);
+  }
+
+  /**
+   * TAG 표시용 문자로 변환 합니다. 변환할 문자가 없으면 원본을 그대로 반환합니다
+   * @param str
+   * @return null 인 경우 빈 문자열
+   */
+  public static String escape(final String str) {
+    if (null == str) return "";
+
+    final int first = indexOfEscape(str, 0);
+    if (0 > first) return str;
+
+    final StringBuilder sb = new StringBuilder(str.length() + 16);
+    sb.append(str, 0, first);
+    escape(str, first, sb);
+
+    return sb.toString();
+  }
+
+  /**
+   * TAG 표시용 문자로 변환하여 out 에 추가합니다
+   * @param src
+   * @param out
+   * @throws IOException
+   */
+  public static void escape(final CharSequence src, final Appendable out) throws IOException {
+    if (null != src) escapeFrom(src, 0, out);
+  }
+
+  /**
+   * TAG 표시용 문자로 변환하여 out 에 추가합니다
+   * @param src
+   * @param out
+   */
+  public static void escape(final CharSequence src, final StringBuilder out) {
+    if (null != src) escape(src, 0, out);
+  }
+
+  /**
+   * TAG 표시용 문자를 복원 합니다. 복원할 문자가 없으면 원본을 그대로 반환합니다
+   * @param str
+   * @return null 인 경우 빈 문자열
+   */
+  public static String unescape(final String str) {
+    if (null == str) return "";
+    if (0 > str.indexOf('&')) return str;
+
+    final StringBuilder sb = new StringBuilder(str.length());
+    unescape(str, sb);
+
+    return sb.length() == str.length() ? str : sb.toString();
+  }
+
+  /**
+   * TAG 표시용 문자를 복원하여 out 에 추가합니다
+   * @param src
+   * @param out
+   * @throws IOException
+   */
+  public static void unescape(final CharSequence src, final Appendable out) throws IOException {
+    if (null == src) return;
+
+    final int length = src.length();
+    int last = 0;
+    int i = 0;
+    while (i < length) {
+      if ('&' != src.charAt(i)) {
+        i++;
+        continue;
+      }
+
+      final char ch = matchEntity(src, i);
+      if (0 == ch) {
+        i++;
+        continue;
+      }
+
+      out.append(src, last, i).append(ch);
+      i = last = i + ESCAPES[ch].length();
+    }
+    out.append(src, last, length);
+  }
+
+  /**
+   * TAG 표시용 문자를 복원하여 out 에 추가합니다
+   * @param src
+   * @param out
+   */
+  public static void unescape(final CharSequence src, final StringBuilder out) {
+    try {
+      unescape(src, (Appendable) out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void escape(final CharSequence src, final int from, final StringBuilder out) {
+    try {
+      escapeFrom(src, from, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void escapeFrom(final CharSequence src, final int from, final Appendable out) throws IOException {
+    final int length = src.length();
+    int last = from;
+    for (int i = from; i < length; i++) {
+      final char ch = src.charAt(i);
+      final String escaped = 128 > ch ? ESCAPES[ch] : null;
+      if (null == escaped) continue;
+
+      out.append(src, last, i).append(escaped);
+      last = i + 1;
+    }
+    out.append(src, last, length);
+  }
+
+  private static int indexOfEscape(final CharSequence src, final int from) {
+    final int length = src.length();
+    for (int i = from; i < length; i++) {
+      final char ch = src.charAt(i);
+      if (128 > ch && null != ESCAPES[ch]) return i;
+    }
+
+    return -1;
+  }
+
+  /**
+   * start 위치에서 시작하는 entity 를 찾아 복원할 문자를 반환합니다
+   * @return 일치하는 entity 가 없으면 0
+   */
+  private static char matchEntity(final CharSequence src, final int start) {
+    final int length = src.length();
+    int node = 0;
+    for (int i = start; i < length; i++) {
+      final char ch = src.charAt(i);
+      if (128 <= ch || 0 == (node = TRIE[node][ch])) return 0;
+      if (0 != VALUES[node]) return VALUES[node];
+    }
+
+    return 0;
+  }
+
+}
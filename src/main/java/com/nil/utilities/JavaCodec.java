@@ -0,0 +1,33 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * ObjectOutputStream 을 이용한 Java 직렬화 codec
+ */
+public class JavaCodec implements SerializeCodec {
+
+  public static final int ID = 0;
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  @Override
+  public void write(final Object value, final OutputStream out) throws IOException {
+    final ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(value);
+    oos.flush();
+  }
+
+  @Override
+  public Object read(final InputStream in) throws IOException, ClassNotFoundException {
+    return new ObjectInputStream(in).readObject();
+  }
+
+}
@@ -0,0 +1,356 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 긴 본문에서 카드 번호, 전화번호, 사업자 번호, 이메일을 찾아 마스킹하는 엔진.
+ * 숫자는 하나의 구분 문자(- 공백 .)로 나뉜 묶음을 하나의 후보로 보고, Formatters.card / phone / biz 가 만드는 자릿수 배치와 같은 경우에만 마스킹합니다.
+ * <ul>
+ *   <li>CARD: 13~19자리. 구분 문자가 있으면 4자리 묶음 (마지막 묶음은 1~4자리) 또는 4-6-5, 4-6-4, 없으면 Luhn 검증을 통과한 경우</li>
+ *   <li>PHONE: 0 으로 시작하는 9~11자리. 구분 문자가 있으면 (2~3)-(3~4)-4, 또는 15/16/18 로 시작하는 4-4</li>
+ *   <li>BIZ: 0 이 아닌 숫자로 시작하는 10자리. 구분 문자가 있으면 3-2-5, 없으면 검증 번호가 맞는 경우</li>
+ *   <li>EMAIL: Formatters.isEmail 과 같은 규칙. 로컬 파트만 마스킹하며 문장 끝의 . 은 포함하지 않습니다</li>
+ * </ul>
+ * 구분 문자 없는 숫자는 timestamp, 주문 번호 등과 구분하기 위해 검증 번호까지 확인합니다. 영문/숫자에 붙어있는 숫자는 후보로 보지 않습니다. Reader 는 어떤 후보에도 포함될 수 없는 문자 단위로 나누어 처리하므로 메모리 사용량이 제한됩니다.
+ * using) MaskingEngine.DEFAULT.mask("tel: 010-1234-5678") -> "tel: 010-****-5678"
+ */
+public final class MaskingEngine {
+
+  /**
+   * 마스킹 대상
+   */
+  public enum Type {
+    CARD,
+    PHONE,
+    BIZ,
+    EMAIL
+  }
+
+  /**
+   * 마스킹 규칙. 앞의 head 자리와 뒤의 tail 자리를 제외한 숫자 (이메일은 로컬 파트의 문자) 를 mask 로 대체합니다.
+   * 구분 문자는 그대로 유지합니다
+   */
+  public static final class MaskPolicy {
+    /** 마스킹 하지 않습니다 */
+    public static final MaskPolicy NONE = new MaskPolicy(Integer.MAX_VALUE, 0, '*');
+    /** 모두 마스킹 합니다 */
+    public static final MaskPolicy FULL = new MaskPolicy(0, 0, '*');
+
+    private final int head;
+    private final int tail;
+    private final char mask;
+
+    /**
+     * @param head 남길 앞 자리 수
+     * @param tail 남길 뒤 자리 수
+     * @param mask
+     */
+    public MaskPolicy(final int head, final int tail, final char mask) {
+      if (0 > head || 0 > tail) throw new IllegalArgumentException("head and tail must not be negative");
+
+      this.head = head;
+      this.tail = tail;
+      this.mask = mask;
+    }
+
+    /**
+     * 앞의 head 자리와 뒤의 tail 자리를 남기고 * 로 마스킹하는 규칙을 반환합니다
+     * @param head
+     * @param tail
+     * @return
+     */
+    public static MaskPolicy keep(final int head, final int tail) {
+      return new MaskPolicy(head, tail, '*');
+    }
+
+    private char apply(final char ch, final int idx, final int count) {
+      return idx >= head && idx < count - tail ? mask : ch;
+    }
+  }
+
+  /** 한 번에 처리를 미루는 최대 문자 수. 나눌 수 있는 위치가 없는 입력은 이 단위로 처리합니다 */
+  private static final int MAX_PENDING = 64 * 1024;
+  private static final int MAX_CARD_DIGITS = 19;
+  private static final int[] BIZ_WEIGHTS = {1, 3, 7, 1, 3, 7, 1, 3, 5};
+
+  /** 카드 0-4, 전화번호 3-4, 사업자 번호 5-0, 이메일 2-0 자리를 남기는 기본 엔진 */
+  public static final MaskingEngine DEFAULT = new MaskingEngine(new EnumMap<>(Type.class));
+
+  private final MaskPolicy[] policies = new MaskPolicy[Type.values().length];
+
+  /**
+   * @param policies 대상별 마스킹 규칙. 지정하지 않은 대상은 DEFAULT 의 규칙을 사용합니다
+   */
+  public MaskingEngine(final Map<Type, MaskPolicy> policies) {
+    this.policies[Type.CARD.ordinal()] = MaskPolicy.keep(0, 4);
+    this.policies[Type.PHONE.ordinal()] = MaskPolicy.keep(3, 4);
+    this.policies[Type.BIZ.ordinal()] = MaskPolicy.keep(5, 0);
+    this.policies[Type.EMAIL.ordinal()] = MaskPolicy.keep(2, 0);
+    for (final Map.Entry<Type, MaskPolicy> entry : policies.entrySet()) {
+      if (null == entry.getValue()) throw new IllegalArgumentException("policy must not be null: " + entry.getKey());
+      this.policies[entry.getKey().ordinal()] = entry.getValue();
+    }
+  }
+
+  /**
+   * 주어진 본문을 마스킹하여 반환합니다
+   * @param text
+   * @return null 인 경우 빈 문자열
+   */
+  public String mask(final CharSequence text) {
+    if (null == text) return "";
+
+    final StringBuilder sb = new StringBuilder(text.length());
+    try {
+      mask(text, 0, text.length(), sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * 주어진 본문을 마스킹하여 out 에 추가합니다
+   * @param text
+   * @param out
+   * @throws IOException
+   */
+  public void mask(final CharSequence text, final Appendable out) throws IOException {
+    mask(text, 0, text.length(), out);
+  }
+
+  /**
+   * Reader 의 본문을 끝까지 읽으며 마스킹하여 Writer 에 기록합니다. Writer 는 닫지 않습니다
+   * @param reader
+   * @param writer
+   * @throws IOException
+   */
+  public void mask(final Reader reader, final Writer writer) throws IOException {
+    final char[] buffer = new char[8192];
+    final StringBuilder pending = new StringBuilder(16384);
+    int read;
+
+    while (-1 != (read = reader.read(buffer))) {
+      pending.append(buffer, 0, read);
+
+      int cut = lastCut(pending);
+      if (0 == cut && MAX_PENDING <= pending.length()) cut = pending.length();
+      if (0 == cut) continue;
+
+      mask(pending, 0, cut, writer);
+      pending.delete(0, cut);
+    }
+    mask(pending, 0, pending.length(), writer);
+    writer.flush();
+  }
+
+  private void mask(final CharSequence text, final int from, final int to, final Appendable out) throws IOException {
+    int copied = from;
+    int i = from;
+
+    while (i < to) {
+      final char ch = text.charAt(i);
+      final char prev = i == from ? ' ' : text.charAt(i - 1);
+
+      if (EmailValidator.isLocalChar(ch) && !EmailValidator.isLocalChar(prev) && '.' != prev) {
+        final int end = emailEnd(text, i, to);
+        if (0 < end) {
+          out.append(text, copied, i);
+          maskEmail(text, i, end, out);
+          i = copied = end;
+          continue;
+        }
+      }
+
+      if (isDigit(ch) && !isAsciiAlphanumeric(prev)) {
+        final int end = numberEnd(text, i, to);
+        final Type type = end < to && isAsciiAlphanumeric(text.charAt(end)) ? null : classify(text, i, end);
+
+        if (null != type) {
+          out.append(text, copied, i);
+          maskDigits(text, i, end, policies[type.ordinal()], out);
+          i = copied = end;
+          continue;
+        }
+
+        // 후보가 아닌 경우 첫 묶음만 건너뛰고 다음 묶음부터 다시 확인합니다
+        while (i < to && isDigit(text.charAt(i))) i++;
+        continue;
+      }
+      i++;
+    }
+    out.append(text, copied, to);
+  }
+
+  private int emailEnd(final CharSequence text, final int start, final int to) {
+    int at = start;
+    while (at < to && (EmailValidator.isLocalChar(text.charAt(at)) || '.' == text.charAt(at))) at++;
+    if (at >= to || '@' != text.charAt(at)) return -1;
+
+    int end = at + 1;
+    while (end < to && (EmailValidator.isDomainChar(text.charAt(end)) || '.' == text.charAt(end))) end++;
+    while (end > at + 1 && '.' == text.charAt(end - 1)) end--;
+
+    return EmailValidator.isValid(text, start, end, EmailValidator.Mode.STRICT) ? end : -1;
+  }
+
+  private void maskEmail(final CharSequence text, final int start, final int end, final Appendable out) throws IOException {
+    final MaskPolicy policy = policies[Type.EMAIL.ordinal()];
+    int at = start;
+    while ('@' != text.charAt(at)) at++;
+
+    for (int i = start; i < at; i++) out.append(policy.apply(text.charAt(i), i - start, at - start));
+    out.append(text, at, end);
+  }
+
+  private static void maskDigits(
+      final CharSequence text, final int start, final int end, final MaskPolicy policy, final Appendable out
+  ) throws IOException {
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      if (isDigit(text.charAt(i))) count++;
+    }
+
+    int idx = 0;
+    for (int i = start; i < end; i++) {
+      final char ch = text.charAt(i);
+      out.append(isDigit(ch) ? policy.apply(ch, idx++, count) : ch);
+    }
+  }
+
+  /**
+   * 같은 구분 문자로 이어진 숫자 묶음의 끝 위치를 반환합니다
+   */
+  private static int numberEnd(final CharSequence text, final int start, final int to) {
+    char separator = 0;
+    int digits = 0;
+    int i = start;
+
+    while (true) {
+      while (i < to && isDigit(text.charAt(i))) {
+        i++;
+        digits++;
+      }
+      if (MAX_CARD_DIGITS < digits || i + 1 >= to || !isDigit(text.charAt(i + 1))) return i;
+
+      final char ch = text.charAt(i);
+      if (0 == separator && ('-' == ch || ' ' == ch || '.' == ch)) separator = ch;
+      if (separator != ch) return i;
+      i++;
+    }
+  }
+
+  private static Type classify(final CharSequence text, final int start, final int end) {
+    final int[] groups = new int[5];
+    int count = 0;
+    int digits = 0;
+
+    for (int i = start; i < end; i++) {
+      if (isDigit(text.charAt(i))) {
+        if (count == groups.length) return null;
+        groups[count]++;
+        digits++;
+      } else {
+        count++;
+      }
+    }
+    count++;
+
+    final char first = text.charAt(start);
+    final char second = digits > 1 ? text.charAt(start + 1) : 0;
+
+    if (13 <= digits && MAX_CARD_DIGITS >= digits && isCardLayout(groups, count)
+        && (1 != count || isLuhn(text, start, end))) {
+      return Type.CARD;
+    }
+    if ('0' == first && (1 == count ? 9 <= digits && 11 >= digits
+        : 3 == count && between(groups[0], 2, 3) && between(groups[1], 3, 4) && 4 == groups[2])) {
+      return Type.PHONE;
+    }
+    if (2 == count && 4 == groups[0] && 4 == groups[1] && '1' == first && ('5' == second || '6' == second || '8' == second)) {
+      return Type.PHONE;
+    }
+    if (10 == digits && '0' != first
+        && (1 == count ? isBizNumber(text, start) : 3 == count && 3 == groups[0] && 2 == groups[1])) {
+      return Type.BIZ;
+    }
+
+    return null;
+  }
+
+  private static boolean isCardLayout(final int[] groups, final int count) {
+    if (1 == count) return true;
+    if (3 == count && 4 == groups[0] && 6 == groups[1] && between(groups[2], 4, 5)) return true;
+
+    for (int i = 0; i < count - 1; i++) {
+      if (4 != groups[i]) return false;
+    }
+
+    return between(groups[count - 1], 1, 4);
+  }
+
+  /**
+   * 구분 문자 없는 카드 번호의 Luhn 검증 번호를 확인합니다
+   */
+  private static boolean isLuhn(final CharSequence text, final int start, final int end) {
+    int sum = 0;
+    for (int i = end - 1, idx = 0; i >= start; i--, idx++) {
+      int digit = text.charAt(i) - '0';
+      if (1 == (idx & 1)) {
+        digit *= 2;
+        if (9 < digit) digit -= 9;
+      }
+      sum += digit;
+    }
+
+    return 0 == sum % 10;
+  }
+
+  /**
+   * 구분 문자 없는 10자리 사업자 번호의 검증 번호를 확인합니다
+   */
+  private static boolean isBizNumber(final CharSequence text, final int start) {
+    int sum = 0;
+    for (int i = 0; i < 9; i++) sum += (text.charAt(start + i) - '0') * BIZ_WEIGHTS[i];
+    sum += (text.charAt(start + 8) - '0') * 5 / 10;
+
+    return (10 - sum % 10) % 10 == text.charAt(start + 9) - '0';
+  }
+
+  /**
+   * 어떤 후보에도 포함될 수 없는 문자의 다음 위치 중 가장 마지막 위치를 반환합니다
+   */
+  private static int lastCut(final CharSequence text) {
+    final int length = text.length();
+    for (int i = length - 1; i >= 0; i--) {
+      final char ch = text.charAt(i);
+      if (' ' == ch) {
+        // 숫자 사이의 공백은 구분 문자일 수 있습니다
+        if (0 == i || !isDigit(text.charAt(i - 1)) || (i + 1 < length && !isDigit(text.charAt(i + 1)))) return i + 1;
+      } else if (!EmailValidator.isLocalChar(ch) && '.' != ch && '@' != ch) {
+        return i + 1;
+      }
+    }
+
+    return 0;
+  }
+
+  private static boolean between(final int value, final int min, final int max) {
+    return min <= value && max >= value;
+  }
+
+  private static boolean isDigit(final char ch) {
+    return '0' <= ch && '9' >= ch;
+  }
+
+  private static boolean isAsciiAlphanumeric(final char ch) {
+    return isDigit(ch) || ('a' <= ch && 'z' >= ch) || ('A' <= ch && 'Z' >= ch);
+  }
+
+}
@@ -0,0 +1,215 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 여러 문자열을 한 번의 순회로 치환하는 Aho-Corasick 기반 치환기.
+ * 한 번 생성한 뒤 여러 스레드에서 공유할 수 있으며, 겹치는 후보가 있으면 가장 앞에서 시작하는 것 중 가장 긴 것을 치환합니다.
+ * using) MultiReplacer replacer = new MultiReplacer(map); replacer.replace(document);
+ */
+public final class MultiReplacer {
+
+  private final String[] keys;
+  private final String[] values;
+  private final char[] alphabet;
+  private final int[] asciiClasses = new int[128];
+  private final int classCount;
+  private final int[] transitions;
+  private final int[] depths;
+  private final int[] outputs;
+
+  /**
+   * @param replacements 찾을 문자열과 치환할 문자열. 찾을 문자열은 비어있을 수 없습니다
+   */
+  public MultiReplacer(final Map<String, String> replacements) {
+    final int size = replacements.size();
+    keys = new String[size];
+    values = new String[size];
+
+    int idx = 0;
+    int totalLength = 0;
+    for (final Map.Entry<String, String> entry : replacements.entrySet()) {
+      if (CommonUtils.isEmpty(entry.getKey())) throw new IllegalArgumentException("search string must not be empty");
+      if (null == entry.getValue()) throw new IllegalArgumentException("replacement must not be null: " + entry.getKey());
+
+      keys[idx] = entry.getKey();
+      values[idx++] = entry.getValue();
+      totalLength += entry.getKey().length();
+    }
+
+    final StringBuilder chars = new StringBuilder();
+    for (final String key : keys) chars.append(key);
+    final char[] sorted = chars.toString().toCharArray();
+    Arrays.sort(sorted);
+    int distinct = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (0 == i || sorted[i] != sorted[i - 1]) sorted[distinct++] = sorted[i];
+    }
+    alphabet = Arrays.copyOf(sorted, distinct);
+    classCount = distinct + 1;
+    for (int i = 0; i < distinct && 128 > alphabet[i]; i++) asciiClasses[alphabet[i]] = i + 1;
+
+    final int maxStates = totalLength + 1;
+    final int[] delta = new int[maxStates * classCount];
+    final int[] depth = new int[maxStates];
+    final int[] output = new int[maxStates];
+    int states = 1;
+
+    for (int k = 0; k < size; k++) {
+      int node = 0;
+      for (int i = 0; i < keys[k].length(); i++) {
+        final int edge = node * classCount + classOf(keys[k].charAt(i));
+        if (0 == delta[edge]) {
+          delta[edge] = states;
+          depth[states++] = depth[node] + 1;
+        }
+        node = delta[edge];
+      }
+      output[node] = k + 1;
+    }
+
+    // 실패 링크를 따라 모든 전이를 미리 계산하여 문자당 한 번의 배열 조회로 상태를 이동합니다
+    final int[] fail = new int[states];
+    final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int c = 1; c < classCount; c++) {
+      if (0 != delta[c]) queue.add(delta[c]);
+    }
+    while (!queue.isEmpty()) {
+      final int state = queue.poll();
+      if (0 == output[state]) output[state] = output[fail[state]];
+
+      for (int c = 1; c < classCount; c++) {
+        final int edge = state * classCount + c;
+        final int fallback = delta[fail[state] * classCount + c];
+        if (0 == delta[edge]) {
+          delta[edge] = fallback;
+        } else {
+          fail[delta[edge]] = fallback;
+          queue.add(delta[edge]);
+        }
+      }
+    }
+
+    transitions = Arrays.copyOf(delta, states * classCount);
+    depths = Arrays.copyOf(depth, states);
+    outputs = Arrays.copyOf(output, states);
+  }
+
+  /**
+   * 모든 대상 문자열을 치환하여 반환합니다. 치환할 문자열이 없으면 원본을 그대로 반환합니다
+   * @param text
+   * @return null 인 경우 빈 문자열
+   */
+  public String replace(final String text) {
+    if (null == text) return "";
+
+    final StringBuilder sb = new StringBuilder(text.length() + 16);
+    final int cursor;
+    try {
+      cursor = scan(text, sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (0 == cursor) return text;
+
+    return sb.append(text, cursor, text.length()).toString();
+  }
+
+  /**
+   * 모든 대상 문자열을 치환하여 out 에 추가합니다
+   * @param text
+   * @param out
+   * @throws IOException
+   */
+  public void replace(final CharSequence text, final Appendable out) throws IOException {
+    out.append(text, scan(text, out), text.length());
+  }
+
+  /**
+   * 모든 대상 문자열을 치환하여 out 에 추가합니다
+   * @param text
+   * @param out
+   */
+  public void replace(final CharSequence text, final StringBuilder out) {
+    try {
+      replace(text, (Appendable) out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 대상 문자열 중 하나라도 포함되어 있는지 확인합니다
+   * @param text
+   * @return
+   */
+  public boolean containsAny(final CharSequence text) {
+    return 0 <= indexOfAny(text);
+  }
+
+  /**
+   * 가장 먼저 끝나는 대상 문자열의 시작 위치를 반환합니다
+   * @param text
+   * @return 없는 경우 -1
+   */
+  public int indexOfAny(final CharSequence text) {
+    if (null == text) return -1;
+
+    int state = 0;
+    for (int i = 0; i < text.length(); i++) {
+      state = transitions[state * classCount + classOf(text.charAt(i))];
+      if (0 != outputs[state]) return i + 1 - keys[outputs[state] - 1].length();
+    }
+
+    return -1;
+  }
+
+  /**
+   * 치환 대상을 찾아 앞부분과 치환 문자열을 out 에 추가하고, 아직 추가하지 않은 나머지의 시작 위치를 반환합니다
+   */
+  private int scan(final CharSequence text, final Appendable out) throws IOException {
+    final int length = text.length();
+    int state = 0;
+    int cursor = 0;
+    int position = 0;
+    int bestStart = -1;
+    int best = -1;
+
+    while (true) {
+      if (position < length) {
+        state = transitions[state * classCount + classOf(text.charAt(position++))];
+
+        final int match = outputs[state] - 1;
+        if (0 <= match) {
+          final int start = position - keys[match].length();
+          if (0 > bestStart || start <= bestStart) {
+            bestStart = start;
+            best = match;
+          }
+        }
+        // 진행중인 후보가 모두 bestStart 이후에서 시작하면 더 앞서거나 긴 후보는 나올 수 없습니다
+        if (0 > bestStart || position - depths[state] <= bestStart) continue;
+      } else if (0 > bestStart) {
+        return cursor;
+      }
+
+      out.append(text, cursor, bestStart).append(values[best]);
+      cursor = position = bestStart + keys[best].length();
+      state = 0;
+      bestStart = -1;
+    }
+  }
+
+  private int classOf(final char ch) {
+    if (128 > ch) return asciiClasses[ch];
+
+    final int idx = Arrays.binarySearch(alphabet, ch);
+
+    return 0 > idx ? 0 : idx + 1;
+  }
+
+}
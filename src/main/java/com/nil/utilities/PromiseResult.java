@@ -0,0 +1,162 @@
+package com.nil.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncUtils.promiseAll 의 작업별 결과, 오류, 소요 시간을 담는 결과 객체
+ * @param <T>
+ */
+public final class PromiseResult<T> {
+
+  /**
+   * 작업의 처리 상태
+   */
+  public enum Status {
+    /** 정상 완료 */
+    SUCCESS,
+    /** 작업 중 예외 발생 */
+    FAILED,
+    /** 작업 또는 전체 제한 시간 초과 */
+    TIMEOUT,
+    /** 다른 작업의 실패 또는 호출 스레드 인터럽트로 취소 */
+    CANCELLED
+  }
+
+  private final Status[] statuses;
+  private final Object[] values;
+  private final Throwable[] errors;
+  private final long[] waitNanos;
+  private final long[] runNanos;
+  private final long elapsedNanos;
+
+  PromiseResult(
+      final Status[] statuses, final Object[] values, final Throwable[] errors,
+      final long[] waitNanos, final long[] runNanos, final long elapsedNanos
+  ) {
+    this.statuses = statuses;
+    this.values = values;
+    this.errors = errors;
+    this.waitNanos = waitNanos;
+    this.runNanos = runNanos;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * 작업 수를 반환합니다
+   * @return
+   */
+  public int size() {
+    return statuses.length;
+  }
+
+  /**
+   * 모든 작업이 정상 완료 되었는지 확인합니다
+   * @return
+   */
+  public boolean isSuccess() {
+    for (final Status status : statuses) {
+      if (Status.SUCCESS != status) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * 주어진 순번 작업의 처리 상태를 반환합니다
+   * @param idx
+   * @return
+   */
+  public Status getStatus(final int idx) {
+    return statuses[idx];
+  }
+
+  /**
+   * 주어진 순번 작업의 결과 값을 반환합니다. 정상 완료되지 않은 작업은 null 을 반환합니다
+   * @param idx
+   * @return
+   */
+  @SuppressWarnings("unchecked")
+  public T getValue(final int idx) {
+    return (T) values[idx];
+  }
+
+  /**
+   * 주어진 순번 작업의 오류를 반환합니다. 정상 완료된 작업은 null 을 반환합니다
+   * @param idx
+   * @return
+   */
+  public Throwable getError(final int idx) {
+    return errors[idx];
+  }
+
+  /**
+   * 처음으로 실패한 작업의 오류를 반환합니다. 실패한 작업이 없다면 null 을 반환합니다
+   * @return
+   */
+  public Throwable getFirstError() {
+    for (int i = 0; i < statuses.length; i++) {
+      if (Status.FAILED == statuses[i]) return errors[i];
+    }
+    for (final Throwable error : errors) {
+      if (null != error) return error;
+    }
+
+    return null;
+  }
+
+  /**
+   * 모든 작업의 결과 값을 순서대로 반환합니다
+   * @return
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> getValues() {
+    final List<T> list = new ArrayList<>(values.length);
+    for (final Object value : values) list.add((T) value);
+
+    return Collections.unmodifiableList(list);
+  }
+
+  /**
+   * 주어진 순번 작업이 실행되기 전까지 대기한 시간을 반환합니다
+   * @param idx
+   * @param unit
+   * @return
+   */
+  public long getWaitTime(final int idx, final TimeUnit unit) {
+    return unit.convert(waitNanos[idx], TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 주어진 순번 작업의 실행 시간을 반환합니다
+   * @param idx
+   * @param unit
+   * @return
+   */
+  public long getRunTime(final int idx, final TimeUnit unit) {
+    return unit.convert(runNanos[idx], TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 전체 처리 시간을 반환합니다
+   * @param unit
+   * @return
+   */
+  public long getElapsedTime(final TimeUnit unit) {
+    return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("PromiseResult[");
+    for (int i = 0; i < statuses.length; i++) {
+      if (0 < i) sb.append(", ");
+      sb.append(statuses[i]).append('(').append(getRunTime(i, TimeUnit.MILLISECONDS)).append("ms)");
+    }
+
+    return sb.append(']').toString();
+  }
+
+}
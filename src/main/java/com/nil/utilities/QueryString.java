@@ -0,0 +1,242 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * query string 또는 form body 를 한 번 훑어 각 파라미터의 위치만 기록하는 파서.
+ * 이름과 값은 조회할 때 원본에서 잘라 복원하므로 사용하지 않는 파라미터는 문자열을 만들지 않습니다.
+ * 파라미터는 Formatters.QUERY_PARAM_PATTERN 과 같이 첫 = 를 기준으로 이름과 값을 나누며, = 가 없으면 값은 빈 문자열 입니다.
+ * using) QueryString query = QueryString.parse(request.getQueryString()); query.getFirst("page");
+ */
+public final class QueryString {
+
+  private final CharSequence source;
+  private final int[] offsets;
+  private final int size;
+
+  private QueryString(final CharSequence source, final int[] offsets, final int size) {
+    this.source = source;
+    this.offsets = offsets;
+    this.size = size;
+  }
+
+  /**
+   * 주어진 query string 을 파싱합니다. 앞의 ? 는 무시합니다.
+   * 원본의 위치를 참조하므로 파싱한 뒤에는 원본을 변경하지 않아야 합니다
+   * @param query
+   * @return
+   */
+  public static QueryString parse(final CharSequence query) {
+    if (null == query) return new QueryString("", new int[0], 0);
+
+    final int length = query.length();
+    int[] offsets = new int[16];
+    int size = 0;
+    int start = 0 < length && '?' == query.charAt(0) ? 1 : 0;
+
+    while (start <= length) {
+      int end = start;
+      int equals = -1;
+      for (char ch; end < length && '&' != (ch = query.charAt(end)); end++) {
+        if ('=' == ch && 0 > equals) equals = end;
+      }
+
+      final int keyEnd = 0 > equals ? end : equals;
+      if (keyEnd > start) {
+        if (offsets.length < (size + 1) * 3) offsets = Arrays.copyOf(offsets, offsets.length << 1);
+        offsets[size * 3] = start;
+        offsets[size * 3 + 1] = keyEnd;
+        offsets[size * 3 + 2] = end;
+        size++;
+      }
+      start = end + 1;
+    }
+
+    return new QueryString(query, offsets, size);
+  }
+
+  /**
+   * 파라미터 수를 반환합니다. 같은 이름의 파라미터는 각각 셉니다
+   * @return
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * idx 번째 파라미터의 이름을 반환합니다
+   * @param idx
+   * @return
+   */
+  public String getName(final int idx) {
+    checkIndex(idx);
+
+    return decode(offsets[idx * 3], offsets[idx * 3 + 1]);
+  }
+
+  /**
+   * idx 번째 파라미터의 값을 반환합니다
+   * @param idx
+   * @return
+   */
+  public String getValue(final int idx) {
+    checkIndex(idx);
+
+    final int keyEnd = offsets[idx * 3 + 1];
+    final int end = offsets[idx * 3 + 2];
+
+    return keyEnd == end ? "" : decode(keyEnd + 1, end);
+  }
+
+  /**
+   * 주어진 이름의 첫 번째 값을 반환합니다
+   * @param name
+   * @return 없는 경우 null
+   */
+  public String getFirst(final String name) {
+    for (int i = 0; i < size; i++) {
+      if (nameEquals(i, name)) return getValue(i);
+    }
+
+    return null;
+  }
+
+  /**
+   * 주어진 이름의 모든 값을 순서대로 반환합니다
+   * @param name
+   * @return
+   */
+  public List<String> getAll(final String name) {
+    List<String> values = null;
+    for (int i = 0; i < size; i++) {
+      if (!nameEquals(i, name)) continue;
+
+      if (null == values) values = new ArrayList<>(2);
+      values.add(getValue(i));
+    }
+
+    return null == values ? Collections.<String>emptyList() : values;
+  }
+
+  /**
+   * 주어진 이름의 파라미터가 있는지 확인합니다
+   * @param name
+   * @return
+   */
+  public boolean contains(final String name) {
+    for (int i = 0; i < size; i++) {
+      if (nameEquals(i, name)) return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * 파라미터 이름을 처음 나온 순서대로 반환합니다
+   * @return
+   */
+  public Set<String> getNames() {
+    final Set<String> names = new LinkedHashSet<>();
+    for (int i = 0; i < size; i++) names.add(getName(i));
+
+    return names;
+  }
+
+  /**
+   * 모든 파라미터를 복원하여 이름별 값 목록으로 반환합니다
+   * @return
+   */
+  public Map<String, List<String>> toMap() {
+    final Map<String, List<String>> map = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) map.computeIfAbsent(getName(i), (k) -> new ArrayList<>(1)).add(getValue(i));
+
+    return map;
+  }
+
+  /**
+   * Reader 에서 form body 를 읽으며 파라미터 하나가 완성될 때마다 복원하여 consumer 에 전달합니다.
+   * 한 번에 파라미터 하나만 메모리에 유지합니다
+   * @param reader
+   * @param maxPairLength 파라미터 하나의 최대 길이
+   * @param consumer
+   * @throws IOException 파라미터 하나가 maxPairLength 를 넘는 경우
+   */
+  public static void forEach(
+      final Reader reader, final int maxPairLength, final BiConsumer<String, String> consumer
+  ) throws IOException {
+    final char[] buffer = new char[8192];
+    final StringBuilder pair = new StringBuilder(64);
+    int read;
+
+    while (-1 != (read = reader.read(buffer))) {
+      int from = 0;
+      for (int i = 0; i < read; i++) {
+        if ('&' != buffer[i]) continue;
+
+        append(pair, buffer, from, i, maxPairLength);
+        emit(pair, consumer);
+        from = i + 1;
+      }
+      append(pair, buffer, from, read, maxPairLength);
+    }
+    emit(pair, consumer);
+  }
+
+  private static void append(
+      final StringBuilder pair, final char[] buffer, final int from, final int to, final int maxPairLength
+  ) throws IOException {
+    if (pair.length() + to - from > maxPairLength) {
+      throw new IOException("parameter exceeds " + maxPairLength + " characters");
+    }
+    pair.append(buffer, from, to - from);
+  }
+
+  private static void emit(final StringBuilder pair, final BiConsumer<String, String> consumer) {
+    final int equals = pair.indexOf("=");
+    final int keyEnd = 0 > equals ? pair.length() : equals;
+
+    if (0 < keyEnd) {
+      consumer.accept(
+          UrlCodec.decode(pair.substring(0, keyEnd), UrlCodec.Mode.FORM),
+          0 > equals ? "" : UrlCodec.decode(pair.substring(equals + 1), UrlCodec.Mode.FORM)
+      );
+    }
+    pair.setLength(0);
+  }
+
+  private boolean nameEquals(final int idx, final String name) {
+    final int start = offsets[idx * 3];
+    final int end = offsets[idx * 3 + 1];
+
+    for (int i = start; i < end; i++) {
+      final char ch = source.charAt(i);
+      if ('%' == ch || '+' == ch) return name.equals(decode(start, end));
+    }
+    if (end - start != name.length()) return false;
+
+    for (int i = start; i < end; i++) {
+      if (source.charAt(i) != name.charAt(i - start)) return false;
+    }
+
+    return true;
+  }
+
+  private String decode(final int start, final int end) {
+    return UrlCodec.decode(source.subSequence(start, end).toString(), UrlCodec.Mode.FORM);
+  }
+
+  private void checkIndex(final int idx) {
+    if (0 > idx || size <= idx) throw new IndexOutOfBoundsException("index: " + idx + ", size: " + size);
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.nil.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * SerializeUtil 에서 사용하는 직렬화 방식.
+ * 직렬화 결과의 첫 바이트에 codec 식별자가 기록 되므로 역직렬화 시 codec 을 지정하지 않아도 됩니다.
+ */
+public interface SerializeCodec {
+
+  /** 식별자로 사용할 수 있는 최대 값 */
+  int MAX_ID = 15;
+
+  /**
+   * codec 식별자 (0 ~ 15). 0 은 Java 직렬화, 1 은 BinaryCodec 이 사용합니다
+   * @return
+   */
+  int getId();
+
+  /**
+   * 주어진 객체를 직렬화 하여 출력 스트림에 기록합니다. 출력 스트림은 닫지 않습니다
+   * @param value
+   * @param out
+   * @throws IOException
+   */
+  void write(Object value, OutputStream out) throws IOException;
+
+  /**
+   * 입력 스트림에서 객체 하나를 읽어 반환합니다. 입력 스트림은 닫지 않습니다
+   * @param in
+   * @return
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  Object read(InputStream in) throws IOException, ClassNotFoundException;
+
+}
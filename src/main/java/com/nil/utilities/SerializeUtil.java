@@ -1,35 +1,653 @@
 package com.nil.utilities;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 public class SerializeUtil {
 
-  public static final String serialized(final Object data) throws IOException {
-    try (
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(os)
-    ) {
-      oos.writeObject(data);
+  /** Java 직렬화 스트림의 첫 바이트 (STREAM_MAGIC 0xACED) */
+  private static final byte JAVA_STREAM_MAGIC = (byte) 0xAC;
+
+  /** 이 크기 미만의 직렬화 결과는 압축하지 않습니다 */
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 512;
+
+  /**
+   * 직렬화 결과의 압축 방식. 헤더 바이트의 상위 4비트에 식별자가, 하위 4비트에 codec 식별자가 기록됩니다.
+   * 압축된 경우 헤더 다음에 원본 길이와 압축된 길이가 varint 로 기록됩니다
+   */
+  public enum Compression {
+    /** 압축하지 않습니다 */
+    NONE(0),
+    /** java.util.zip.Deflater 로 압축합니다. 압축률이 높습니다 */
+    DEFLATE(1),
+    /** LZF 형식의 블록 압축기로 압축합니다. 압축률은 낮지만 빠릅니다 */
+    FAST(2);
+
+    private final int id;
+
+    Compression(final int id) {
+      this.id = id;
+    }
 
-      return StringUtils.encodeBase64(os.toByteArray());
-    } catch(IOException e) {
-      throw e;
+    public int getId() {
+      return id;
     }
+
+    static Compression of(final int id) throws StreamCorruptedException {
+      for (final Compression compression : values()) {
+        if (compression.id == id) return compression;
+      }
+
+      throw new StreamCorruptedException("unknown compression id: " + id);
+    }
+  }
+
+  public static final JavaCodec JAVA_CODEC = new JavaCodec();
+  public static final BinaryCodec BINARY_CODEC = new BinaryCodec();
+
+  private static final SerializeCodec[] codecs = new SerializeCodec[SerializeCodec.MAX_ID + 1];
+  private static volatile SerializeCodec defaultCodec = JAVA_CODEC;
+  private static volatile Compression defaultCompression = Compression.NONE;
+  private static volatile int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+
+  static {
+    registerCodec(JAVA_CODEC);
+    registerCodec(BINARY_CODEC);
+  }
+
+  /**
+   * 역직렬화 시 식별자로 찾을 수 있도록 codec 을 등록합니다
+   * @param codec
+   */
+  public static void registerCodec(final SerializeCodec codec) {
+    final int id = codec.getId();
+    if (0 > id || SerializeCodec.MAX_ID < id) throw new IllegalArgumentException("codec id out of range: " + id);
+
+    synchronized (codecs) {
+      codecs[id] = codec;
+    }
+  }
+
+  /**
+   * serialized(Object) 에서 사용할 기본 codec 을 지정합니다. 기본 값은 Java 직렬화 입니다
+   * @param codec
+   */
+  public static void setDefaultCodec(final SerializeCodec codec) {
+    registerCodec(codec);
+    defaultCodec = codec;
   }
 
+  /**
+   * 기본 codec 을 반환합니다
+   * @return
+   */
+  public static SerializeCodec getDefaultCodec() {
+    return defaultCodec;
+  }
+
+  /**
+   * 기본 압축 방식과 압축을 시작할 최소 크기를 지정합니다. 기본 값은 압축하지 않음 입니다.
+   * 압축 결과가 원본보다 작지 않으면 압축하지 않은 상태로 저장됩니다
+   * @param compression
+   * @param threshold 이 크기(byte) 미만의 직렬화 결과는 압축하지 않습니다
+   */
+  public static void setCompression(final Compression compression, final int threshold) {
+    if (null == compression) throw new IllegalArgumentException("compression must not be null");
+    if (0 > threshold) throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+
+    compressionThreshold = threshold;
+    defaultCompression = compression;
+  }
+
+  /**
+   * 기본 압축 방식을 반환합니다
+   * @return
+   */
+  public static Compression getCompression() {
+    return defaultCompression;
+  }
+
+  /**
+   * 압축을 시작할 최소 크기를 반환합니다
+   * @return
+   */
+  public static int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * 주어진 객체를 기본 codec 으로 직렬화 하여 Base64 문자열로 반환합니다
+   * @param data
+   * @return
+   * @throws IOException
+   */
+  public static final String serialized(final Object data) throws IOException {
+    return serialized(data, defaultCodec);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 으로 직렬화 하여 Base64 문자열로 반환합니다.
+   * Java 직렬화 외의 codec 은 첫 바이트에 codec 식별자를 기록합니다
+   * @param data
+   * @param codec
+   * @return
+   * @throws IOException
+   */
+  public static final String serialized(final Object data, final SerializeCodec codec) throws IOException {
+    return serialized(data, codec, defaultCompression);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 과 압축 방식으로 직렬화 하여 Base64 문자열로 반환합니다
+   * @param data
+   * @param codec
+   * @param compression
+   * @return
+   * @throws IOException
+   */
+  public static final String serialized(final Object data, final SerializeCodec codec, final Compression compression)
+      throws IOException {
+    final Buffer buffer = new Buffer();
+    serialize(data, codec, compression, buffer);
+
+    return new String(Base64.getEncoder().encode(buffer.toByteBuffer()).array(), StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Base64 문자열을 역직렬화 합니다. 첫 바이트로 codec 을 판별하므로 Java 직렬화 결과와 다른 codec 결과를 함께 읽을 수 있습니다
+   * @param serialized
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
   public static final <T> T deserialized(String serialized, Class<T> type)
       throws IOException, ClassNotFoundException {
-    try (
-        ByteArrayInputStream is = new ByteArrayInputStream(StringUtils.decodeBase64(serialized));
-        ObjectInputStream ois = new ObjectInputStream(is)
-    ) {
-      return type.cast(ois.readObject());
-    } catch (IOException | ClassNotFoundException e) {
-      throw e;
+    return fromBytes(StringUtils.decodeBase64(serialized), type);
+  }
+
+  /**
+   * 주어진 객체를 기본 codec 으로 직렬화 하여 바이트 배열로 반환합니다
+   * @param data
+   * @return
+   * @throws IOException
+   */
+  public static final byte[] toBytes(final Object data) throws IOException {
+    return toBytes(data, defaultCodec);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 으로 직렬화 하여 바이트 배열로 반환합니다
+   * @param data
+   * @param codec
+   * @return
+   * @throws IOException
+   */
+  public static final byte[] toBytes(final Object data, final SerializeCodec codec) throws IOException {
+    return toBytes(data, codec, defaultCompression);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 과 압축 방식으로 직렬화 하여 바이트 배열로 반환합니다
+   * @param data
+   * @param codec
+   * @param compression
+   * @return
+   * @throws IOException
+   */
+  public static final byte[] toBytes(final Object data, final SerializeCodec codec, final Compression compression)
+      throws IOException {
+    final ByteArrayOutputStream os = new ByteArrayOutputStream();
+    serialize(data, codec, compression, os);
+
+    return os.toByteArray();
+  }
+
+  /**
+   * 바이트 배열을 역직렬화 합니다
+   * @param bytes
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public static final <T> T fromBytes(final byte[] bytes, final Class<T> type)
+      throws IOException, ClassNotFoundException {
+    return fromBytes(bytes, 0, bytes.length, type);
+  }
+
+  /**
+   * 바이트 배열의 지정된 구간을 역직렬화 합니다
+   * @param bytes
+   * @param offset
+   * @param length
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public static final <T> T fromBytes(final byte[] bytes, final int offset, final int length, final Class<T> type)
+      throws IOException, ClassNotFoundException {
+    if (0 == length) throw new StreamCorruptedException("empty payload");
+
+    final ByteArrayInputStream is = new ByteArrayInputStream(bytes, offset, length);
+    if (JAVA_STREAM_MAGIC == bytes[offset]) return type.cast(JAVA_CODEC.read(is));
+
+    return type.cast(readPayload(is.read(), is));
+  }
+
+  /**
+   * 주어진 객체를 기본 codec 으로 직렬화 하여 출력 스트림에 바로 기록합니다. 출력 스트림은 닫지 않습니다
+   * @param data
+   * @param out
+   * @throws IOException
+   */
+  public static final void serialize(final Object data, final OutputStream out) throws IOException {
+    serialize(data, defaultCodec, out);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 으로 직렬화 하여 출력 스트림에 바로 기록합니다. 출력 스트림은 닫지 않습니다
+   * @param data
+   * @param codec
+   * @param out
+   * @throws IOException
+   */
+  public static final void serialize(final Object data, final SerializeCodec codec, final OutputStream out)
+      throws IOException {
+    serialize(data, codec, defaultCompression, out);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 과 압축 방식으로 직렬화 하여 출력 스트림에 기록합니다. 출력 스트림은 닫지 않습니다.
+   * 압축하지 않는 경우 Java 직렬화 결과는 헤더 없이 기록되어 이전 버전과 호환됩니다
+   * @param data
+   * @param codec
+   * @param compression
+   * @param out
+   * @throws IOException
+   */
+  public static final void serialize(
+      final Object data, final SerializeCodec codec, final Compression compression, final OutputStream out
+  ) throws IOException {
+    if (Compression.NONE == compression) {
+      if (JavaCodec.ID != codec.getId()) out.write(codec.getId());
+      codec.write(data, out);
+      return;
+    }
+
+    final Buffer raw = new Buffer();
+    codec.write(data, raw);
+    final int length = raw.size();
+
+    if (0 < length && compressionThreshold <= length) {
+      final byte[] compressed = new byte[length - 1];
+      final int compressedLength = compress(compression, raw.array(), length, compressed);
+
+      if (0 < compressedLength) {
+        out.write((compression.id << 4) | codec.getId());
+        writeVarInt(length, out);
+        writeVarInt(compressedLength, out);
+        out.write(compressed, 0, compressedLength);
+        return;
+      }
+    }
+
+    if (JavaCodec.ID != codec.getId()) out.write(codec.getId());
+    out.write(raw.array(), 0, length);
+  }
+
+  /**
+   * 주어진 객체를 기본 codec 으로 직렬화 하여 ByteBuffer 의 현재 위치부터 기록하고 기록한 바이트 수를 반환합니다.
+   * 남은 공간이 부족하면 BufferOverflowException 이 발생합니다
+   * @param data
+   * @param buffer heap 또는 direct ByteBuffer
+   * @return
+   * @throws IOException
+   */
+  public static final int serialize(final Object data, final ByteBuffer buffer) throws IOException {
+    return serialize(data, defaultCodec, buffer);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 으로 직렬화 하여 ByteBuffer 의 현재 위치부터 기록하고 기록한 바이트 수를 반환합니다
+   * @param data
+   * @param codec
+   * @param buffer
+   * @return
+   * @throws IOException
+   */
+  public static final int serialize(final Object data, final SerializeCodec codec, final ByteBuffer buffer)
+      throws IOException {
+    final int start = buffer.position();
+    serialize(data, codec, new ByteBufferOutputStream(buffer));
+
+    return buffer.position() - start;
+  }
+
+  /**
+   * 주어진 객체를 기본 codec 으로 직렬화 하여 채널에 기록합니다. 채널은 닫지 않습니다
+   * @param data
+   * @param channel
+   * @throws IOException
+   */
+  public static final void serialize(final Object data, final WritableByteChannel channel) throws IOException {
+    serialize(data, defaultCodec, channel);
+  }
+
+  /**
+   * 주어진 객체를 지정된 codec 으로 직렬화 하여 채널에 기록합니다. 채널은 닫지 않습니다
+   * @param data
+   * @param codec
+   * @param channel
+   * @throws IOException
+   */
+  public static final void serialize(final Object data, final SerializeCodec codec, final WritableByteChannel channel)
+      throws IOException {
+    final BufferedOutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+    serialize(data, codec, out);
+    out.flush();
+  }
+
+  /**
+   * 입력 스트림에서 객체 하나를 역직렬화 합니다. 입력 스트림은 닫지 않습니다
+   * @param in
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public static final <T> T deserialize(final InputStream in, final Class<T> type)
+      throws IOException, ClassNotFoundException {
+    final int first = in.read();
+    if (-1 == first) throw new EOFException();
+
+    if (JAVA_STREAM_MAGIC == (byte) first) {
+      final PushbackInputStream pushback = new PushbackInputStream(in, 1);
+      pushback.unread(first);
+
+      return type.cast(JAVA_CODEC.read(pushback));
+    }
+
+    return type.cast(readPayload(first, in));
+  }
+
+  /**
+   * ByteBuffer 의 현재 위치부터 객체 하나를 역직렬화 합니다. 읽은 만큼 위치가 이동합니다
+   * @param buffer heap 또는 direct ByteBuffer
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public static final <T> T deserialize(final ByteBuffer buffer, final Class<T> type)
+      throws IOException, ClassNotFoundException {
+    if (!buffer.hasRemaining()) throw new EOFException();
+
+    return deserialize(new ByteBufferInputStream(buffer), type);
+  }
+
+  /**
+   * 채널에서 객체 하나를 역직렬화 합니다. 채널은 닫지 않습니다
+   * @param channel
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  public static final <T> T deserialize(final ReadableByteChannel channel, final Class<T> type)
+      throws IOException, ClassNotFoundException {
+    return deserialize(Channels.newInputStream(channel), type);
+  }
+
+  /**
+   * 주어진 항목을 기본 codec 과 압축 방식으로 chunk 단위로 나누어 파일에 기록하고 기록한 항목 수를 반환합니다.
+   * 한 번에 한 chunk 만 메모리에 유지합니다. 같은 디렉토리의 임시 파일에 기록한 뒤 정상적으로 닫힌 경우에만 path 로 옮기므로
+   * 기록 중 오류가 발생해도 기존 파일은 그대로 유지됩니다
+   * @param values
+   * @param path
+   * @return
+   * @throws IOException
+   */
+  public static final long serializeChunked(final Iterable<?> values, final Path path) throws IOException {
+    final Path temp = path.resolveSibling(
+        "." + path.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp"
+    );
+
+    try {
+      final long count;
+      try (ChunkedFileWriter<Object> writer = new ChunkedFileWriter<>(temp)) {
+        count = writer.writeAll(values);
+      }
+
+      try {
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      return count;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * serializeChunked 로 기록한 파일을 한 chunk 씩 읽는 Stream 으로 반환합니다. Stream 을 닫으면 파일도 닫힙니다
+   * @param path
+   * @param type
+   * @return
+   * @param <T>
+   * @throws IOException
+   */
+  public static final <T> Stream<T> deserializeChunked(final Path path, final Class<T> type) throws IOException {
+    final ChunkedFileReader<T> reader = new ChunkedFileReader<>(path, type);
+
+    return reader.stream().onClose(() -> {
+      try {
+        reader.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private static Object readPayload(final int header, final InputStream in) throws IOException, ClassNotFoundException {
+    final SerializeCodec codec = codecOf(header & 0x0F);
+    final Compression compression = Compression.of(header >>> 4);
+    if (Compression.NONE == compression) return codec.read(in);
+
+    final int length = readVarInt(in);
+    final byte[] compressed = new byte[readVarInt(in)];
+    int read = 0;
+    while (read < compressed.length) {
+      final int count = in.read(compressed, read, compressed.length - read);
+      if (-1 == count) throw new EOFException();
+      read += count;
+    }
+
+    return codec.read(new ByteArrayInputStream(decompress(compression, compressed, length)));
+  }
+
+  private static int compress(final Compression compression, final byte[] in, final int length, final byte[] out) {
+    if (Compression.FAST == compression) return BlockCompressor.compress(in, 0, length, out);
+
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(in, 0, length);
+      deflater.finish();
+
+      int count = 0;
+      while (!deflater.finished() && count < out.length) count += deflater.deflate(out, count, out.length - count);
+
+      return deflater.finished() ? count : -1;
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] decompress(final Compression compression, final byte[] in, final int length)
+      throws IOException {
+    if (Compression.FAST == compression) return BlockCompressor.decompress(in, 0, in.length, length);
+
+    final byte[] out = new byte[length];
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(in);
+
+      int count = 0;
+      while (!inflater.finished()) {
+        final int inflated = inflater.inflate(out, count, length - count);
+        if (0 == inflated && (inflater.needsInput() || inflater.needsDictionary() || count == length)) {
+          throw new StreamCorruptedException("truncated deflate payload");
+        }
+        count += inflated;
+      }
+      if (count != length) throw new StreamCorruptedException("expected " + length + " bytes but was " + count);
+
+      return out;
+    } catch (DataFormatException e) {
+      throw new StreamCorruptedException(e.getMessage());
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static void writeVarInt(int value, final OutputStream out) throws IOException {
+    while (0 != (value & ~0x7F)) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarInt(final InputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; 32 > shift; shift += 7) {
+      final int b = in.read();
+      if (-1 == b) throw new EOFException();
+
+      value |= (b & 0x7F) << shift;
+      if (0 == (b & 0x80)) {
+        if (0 > value) throw new StreamCorruptedException("negative length: " + value);
+        return value;
+      }
+    }
+
+    throw new StreamCorruptedException("malformed varint");
+  }
+
+  private static SerializeCodec codecOf(final int id) throws StreamCorruptedException {
+    final SerializeCodec codec = 0 <= id && SerializeCodec.MAX_ID >= id ? codecs[id] : null;
+    if (null == codec) throw new StreamCorruptedException("unknown codec id: " + id);
+
+    return codec;
+  }
+
+  /**
+   * 내부 버퍼를 복사 없이 ByteBuffer 로 노출하는 ByteArrayOutputStream
+   */
+  static final class Buffer extends ByteArrayOutputStream {
+    Buffer() {
+      super(256);
+    }
+
+    ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    byte[] array() {
+      return buf;
+    }
+  }
+
+  /**
+   * ByteBuffer 에 바로 기록하는 OutputStream
+   */
+  static final class ByteBufferOutputStream extends OutputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferOutputStream(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(final int b) {
+      buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+      buffer.put(bytes, offset, length);
+    }
+  }
+
+  /**
+   * ByteBuffer 에서 바로 읽는 InputStream
+   */
+  static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) {
+      if (0 == length) return 0;
+      if (!buffer.hasRemaining()) return -1;
+
+      final int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+
+      return count;
+    }
+
+    @Override
+    public long skip(final long n) {
+      final int count = (int) Math.max(0L, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + count);
+
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
     }
   }
 
@@ -1,12 +1,16 @@
 package com.nil.utilities;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
@@ -15,6 +19,9 @@ import java.util.stream.StreamSupport;
 
 public abstract class StreamUtils {
 
+  /** 병렬 변환을 시작하는 기본 항목 수. 변환 함수가 가벼울수록 크게, 무거울수록 작게 지정합니다 */
+  public static final int PARALLEL_THRESHOLD = 10_000;
+
   /**
    * 주어진 객체를 Stream 으로 변환합니다
    * @param o
@@ -83,7 +90,8 @@ public abstract class StreamUtils {
   }
 
   /**
-   * 주어진 리스트의 객체를 다른 유형의 객체로 변환한 새 리스트를 반환 합니다
+   * 주어진 리스트의 객체를 다른 유형의 객체로 변환한 새 리스트를 반환 합니다.
+   * 항상 호출한 스레드에서 순서대로 변환합니다. 병렬 변환은 parallelThreshold 를 지정하는 메서드를 사용합니다 (예: PARALLEL_THRESHOLD)
    * @param from
    * @param mapper
    * @return
@@ -92,8 +100,52 @@ public abstract class StreamUtils {
    */
   public final static <T, U> List<U> convertList(final List<T> from, final Function<T, U> mapper) {
     if (null == from) return null;
+    if (!(from instanceof RandomAccess)) return from.stream().map(mapper).collect(Collectors.toList());
+
+    final int size = from.size();
+    final List<U> to = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) to.add(mapper.apply(from.get(i)));
 
-    return from.stream().map(mapper).collect(Collectors.toList());
+    return to;
+  }
+
+  /**
+   * 주어진 리스트의 크기가 parallelThreshold 이상이면 ForkJoin 공용 풀에서 병렬로 변환한 리스트를 반환 합니다.
+   * 변환 함수가 무거울수록 parallelThreshold 를 작게 지정합니다. 순서는 유지되며 결과는 항상 ArrayList 입니다
+   * @param from
+   * @param mapper
+   * @param parallelThreshold
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public final static <T, U> List<U> convertList(
+      final List<T> from, final Function<T, U> mapper, final int parallelThreshold
+  ) {
+    return convertList(from, mapper, parallelThreshold, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 주어진 리스트의 크기가 parallelThreshold 이상이면 지정된 ForkJoinPool 에서 병렬로 변환한 리스트를 반환 합니다
+   * @param from
+   * @param mapper
+   * @param parallelThreshold
+   * @param pool
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  @SuppressWarnings("unchecked")
+  public final static <T, U> List<U> convertList(
+      final List<T> from, final Function<T, U> mapper, final int parallelThreshold, final ForkJoinPool pool
+  ) {
+    if (null == from) return null;
+    if (from.size() < Math.max(2, parallelThreshold)) return convertList(from, mapper);
+
+    final Object[] to = new Object[from.size()];
+    mapParallel(from, mapper, to, pool);
+
+    return new ArrayList<>(Arrays.asList((U[]) to));
   }
 
   /**
@@ -109,8 +161,112 @@ public abstract class StreamUtils {
       final List<T> from, final Function<T, U> mapper, final IntFunction<U[]> generator
   ) {
     if (null == from) return null;
+    if (!(from instanceof RandomAccess)) return from.stream().map(mapper).filter(Objects::nonNull).toArray(generator);
+
+    final U[] to = generator.apply(from.size());
+    for (int i = 0; i < to.length; i++) to[i] = mapper.apply(from.get(i));
+
+    return compact(to, generator);
+  }
+
+  /**
+   * 주어진 리스트의 크기가 parallelThreshold 이상이면 ForkJoin 공용 풀에서 병렬로 변환한 배열을 반환 합니다. null 은 제외됩니다
+   * @param from
+   * @param mapper
+   * @param generator
+   * @param parallelThreshold
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public final static <T, U> U[] convertArray(
+      final List<T> from, final Function<T, U> mapper, final IntFunction<U[]> generator, final int parallelThreshold
+  ) {
+    return convertArray(from, mapper, generator, parallelThreshold, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 주어진 리스트의 크기가 parallelThreshold 이상이면 지정된 ForkJoinPool 에서 병렬로 변환한 배열을 반환 합니다. null 은 제외됩니다
+   * @param from
+   * @param mapper
+   * @param generator
+   * @param parallelThreshold
+   * @param pool
+   * @return
+   * @param <T>
+   * @param <U>
+   */
+  public final static <T, U> U[] convertArray(
+      final List<T> from, final Function<T, U> mapper, final IntFunction<U[]> generator,
+      final int parallelThreshold, final ForkJoinPool pool
+  ) {
+    if (null == from) return null;
+    if (from.size() < Math.max(2, parallelThreshold)) return convertArray(from, mapper, generator);
+
+    final U[] to = generator.apply(from.size());
+    mapParallel(from, mapper, to, pool);
+
+    return compact(to, generator);
+  }
+
+  private static <T, U> void mapParallel(
+      final List<T> from, final Function<T, U> mapper, final Object[] to, final ForkJoinPool pool
+  ) {
+    final List<T> source = from instanceof RandomAccess ? from : new ArrayList<>(from);
+    final int grain = Math.max(1, to.length / (pool.getParallelism() * 8));
+
+    pool.invoke(new MapAction<>(source, mapper, to, 0, to.length, grain));
+  }
+
+  private static <U> U[] compact(final U[] array, final IntFunction<U[]> generator) {
+    int count = 0;
+    for (final U item : array) if (null != item) count++;
+    if (count == array.length) return array;
+
+    final U[] compacted = generator.apply(count);
+    int idx = 0;
+    for (final U item : array) if (null != item) compacted[idx++] = item;
+
+    return compacted;
+  }
+
+  /**
+   * 리스트의 구간을 나누어 변환 결과를 미리 할당된 배열의 같은 위치에 기록하는 ForkJoin 작업
+   */
+  private static final class MapAction<T, U> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> from;
+    private final Function<T, U> mapper;
+    private final Object[] to;
+    private final int lo;
+    private final int hi;
+    private final int grain;
+
+    private MapAction(
+        final List<T> from, final Function<T, U> mapper, final Object[] to, final int lo, final int hi, final int grain
+    ) {
+      this.from = from;
+      this.mapper = mapper;
+      this.to = to;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= grain) {
+        for (int i = lo; i < hi; i++) to[i] = mapper.apply(from.get(i));
+        return;
+      }
 
-    return from.stream().map(mapper).filter(Objects::nonNull).toArray(generator);
+      final int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new MapAction<>(from, mapper, to, lo, mid, grain),
+          new MapAction<>(from, mapper, to, mid, hi, grain)
+      );
+    }
   }
 
 }
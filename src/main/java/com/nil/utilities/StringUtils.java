@@ -1,8 +1,5 @@
 package com.nil.utilities;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Locale;
@@ -70,6 +67,16 @@ public abstract class StringUtils {
     }
   }
 
+  /**
+   * 주어진 문자열에서 replacer 에 등록된 문자열을 한 번의 순회로 모두 변환한 후 반환합니다
+   * @param source
+   * @param replacer
+   * @return
+   */
+  public static final String replace(final String source, final MultiReplacer replacer) {
+    return replacer.replace(source);
+  }
+
   /**
    * 주어진 문자열에서 정규식에 매치되는 문자열을 전달된 replacer 함수를 호출하여 변환후 반환합니다
    * @param source
@@ -97,16 +104,7 @@ public abstract class StringUtils {
    * @return
    */
   public final static String safeHTML(String str) {
-    str	= replace(str, "&", "&amp;");
-    str	= replace(str, "#", "&#35;");
-    str	= replace(str, "<", "&lt;");
-    str	= replace(str, ">", "&gt;");
-    str	= replace(str, "(", "&#40;");
-    str	= replace(str, ")", "&#41;");
-    str	= replace(str, "\"", "&quot;");
-    str	= replace(str, "\'", "&#39;");
-
-    return str;
+    return HtmlEscaper.escape(str);
   }
 
   /**
@@ -117,16 +115,7 @@ public abstract class StringUtils {
   public static final String deSafeHTML(String str) {
     if (CommonUtils.isEmpty(str)) return "";
 
-    str	= replace(str, "&#39;", "'");
-    str	= replace(str, "&quot;", "\"");
-    str	= replace(str, "&#41;", ")");
-    str	= replace(str, "&#40;", "(");
-    str	= replace(str, "&gt;", ">");
-    str	= replace(str, "&lt;", "<");
-    str	= replace(str, "&#35;", "#");
-    str	= replace(str, "&amp;", "&");
-
-    return str;
+    return HtmlEscaper.unescape(str);
   }
 
   /**
@@ -144,11 +133,7 @@ public abstract class StringUtils {
    * @return
    */
   public static final String encodeUrl(final String text) {
-    try {
-      return URLEncoder.encode(text, CommonUtils.DEFAULT_ENCODING).replaceAll("\\+", "%20");
-    } catch (UnsupportedEncodingException e) {
-      return null;
-    }
+    return UrlCodec.encode(text, UrlCodec.Mode.LEGACY);
   }
 
   /**
@@ -157,11 +142,7 @@ public abstract class StringUtils {
    * @return
    */
   public static final String decodeUrl(final String text) {
-    try {
-      return URLDecoder.decode(text, CommonUtils.DEFAULT_ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      return null;
-    }
+    return UrlCodec.decode(text, UrlCodec.Mode.FORM);
   }
 
   /**
@@ -187,13 +168,9 @@ public abstract class StringUtils {
    * @return
    */
   public static final byte[] decodeBase64(final String text) {
-    try {
-      return Formatters.isBase64String(text)
-          ? Base64.getDecoder().decode(text.getBytes(CommonUtils.DEFAULT_ENCODING))
-          : text.getBytes(CommonUtils.DEFAULT_ENCODING); // throw new IllegalArgumentException();
-    } catch (UnsupportedEncodingException e) {
-      throw new RuntimeException(e);
-    }
+    final byte[] decoded = Base64Engine.decode(text);
+
+    return null != decoded ? decoded : text.getBytes(CommonUtils.DEFAULT_CHARSET);
   }
 
   /**
@@ -203,13 +180,10 @@ public abstract class StringUtils {
    */
   public static final String decodeBase64String(final String text) {
     if (CommonUtils.isEmpty(text)) return EMPTY_STRING;
-    if (!Formatters.isBase64String(text)) return text;
 
-    try {
-      return new String(decodeBase64(text), CommonUtils.DEFAULT_ENCODING);
-    } catch (UnsupportedEncodingException e) {
-      throw new RuntimeException(e);
-    }
+    final byte[] decoded = Base64Engine.decode(text);
+
+    return null != decoded ? new String(decoded, CommonUtils.DEFAULT_CHARSET) : text;
   }
 
   /**
@@ -218,6 +192,9 @@ public abstract class StringUtils {
    * @return
    */
   public final static String toCamelCase(final String source) {
+    final String converted = CaseConverter.toCamelCase(source);
+    if (null != converted) return converted;
+
     return Formatters.CAMEL_PATTERN.matcher(source.toLowerCase()).find()
         ? replace(source.toLowerCase(), Formatters.CAMEL_PATTERN, (m) -> m.group(1).toUpperCase())
         : source;
@@ -269,7 +246,7 @@ public abstract class StringUtils {
    * @return
    */
   public final static String getRandomNumberString(final int length) {
-    return shuffle(repeat(shuffle("1234567890"), 5), 5).substring(0, length);
+    return TokenGenerator.OTP.next(length);
   }
 
   /**
@@ -279,13 +256,7 @@ public abstract class StringUtils {
    * @return
    */
   public final static String getRandomString(final int length, final boolean isSpecialChars) {
-    String str	= "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890" +
-        (isSpecialChars ? "`~!@#$%^&*()_+<>,./" : "");
-    str	= shuffle(str);
-    str	= repeat(str, 5);
-    str	= shuffle(str);
-
-    return str.substring(0, length);
+    return (isSpecialChars ? TokenGenerator.TOKEN_WITH_SPECIAL_CHARS : TokenGenerator.TOKEN).next(length);
   }
 
 }
@@ -0,0 +1,282 @@
+package com.nil.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneRules;
+
+/**
+ * yyyy, yyyyMM, yyyyMMdd, yyyyMMddHH, yyyyMMddHHmm, yyyyMMddHHmmss 형식의 숫자를 문자열 생성 없이 읽는 고정 길이 시각 파서.
+ * 생략된 월/일은 01, 시/분/초는 00 으로 보며, 범위를 벗어난 값은 보정하지 않고 오류로 처리합니다.
+ * 결과는 yyyyMMddHHmmss 자릿수 그대로의 long, epoch millis, LocalDateTime 으로 받을 수 있습니다.
+ * using) TimestampParser.toEpochMilli("20240101123000", ZoneId.systemDefault()), TimestampParser.toPacked(buffer, offset, 14)
+ */
+public abstract class TimestampParser {
+
+  /** toPacked 의 변환 실패 값 */
+  public static final long INVALID = -1L;
+
+  /** toPackedDigits 에서 자릿수는 맞지만 범위를 벗어난 경우 */
+  static final long OUT_OF_RANGE = -2L;
+
+  private static final int MAX_DIGITS = 14;
+  private static final long[] FIELD_UNITS = {1L, 100L, 10_000L, 1_000_000L, 100_000_000L};
+
+  private static final int ERROR_LENGTH = 1;
+  private static final int ERROR_DIGIT = 2;
+  private static final int ERROR_RANGE = 3;
+
+  /**
+   * 주어진 문자열을 yyyyMMddHHmmss 자릿수의 long 으로 변환합니다. (2024-01-02 03:04:05 -> 20240102030405L)
+   * @param src
+   * @return 형식이 맞지 않거나 범위를 벗어난 경우 INVALID
+   */
+  public static long toPacked(final CharSequence src) {
+    final long packed = parse(src, 0, src.length(), false);
+
+    return 0 > packed ? INVALID : packed;
+  }
+
+  /**
+   * 주어진 ASCII 바이트 구간을 yyyyMMddHHmmss 자릿수의 long 으로 변환합니다
+   * @param buf
+   * @param offset
+   * @param length
+   * @return 형식이 맞지 않거나 범위를 벗어난 경우 INVALID
+   */
+  public static long toPacked(final byte[] buf, final int offset, final int length) {
+    final long packed = parse(buf, offset, length);
+
+    return 0 > packed ? INVALID : packed;
+  }
+
+  /**
+   * 주어진 문자열을 LocalDateTime 으로 변환합니다
+   * @param src
+   * @return
+   * @throws DateTimeParseException 형식이 맞지 않거나 범위를 벗어난 경우
+   */
+  public static LocalDateTime toLocalDateTime(final CharSequence src) {
+    return toLocalDateTime(check(parse(src, 0, src.length(), false), src));
+  }
+
+  /**
+   * 주어진 ASCII 바이트 구간을 LocalDateTime 으로 변환합니다
+   * @param buf
+   * @param offset
+   * @param length
+   * @return
+   * @throws DateTimeParseException 형식이 맞지 않거나 범위를 벗어난 경우
+   */
+  public static LocalDateTime toLocalDateTime(final byte[] buf, final int offset, final int length) {
+    return toLocalDateTime(check(parse(buf, offset, length), new String(buf, offset, length, StandardCharsets.ISO_8859_1)));
+  }
+
+  /**
+   * 주어진 문자열을 지정된 시간대의 epoch millis 로 변환합니다
+   * @param src
+   * @param zone
+   * @return
+   * @throws DateTimeParseException 형식이 맞지 않거나 범위를 벗어난 경우
+   */
+  public static long toEpochMilli(final CharSequence src, final ZoneId zone) {
+    return toEpochMilli(check(parse(src, 0, src.length(), false), src), zone);
+  }
+
+  /**
+   * 주어진 ASCII 바이트 구간을 지정된 시간대의 epoch millis 로 변환합니다
+   * @param buf
+   * @param offset
+   * @param length
+   * @param zone
+   * @return
+   * @throws DateTimeParseException 형식이 맞지 않거나 범위를 벗어난 경우
+   */
+  public static long toEpochMilli(final byte[] buf, final int offset, final int length, final ZoneId zone) {
+    return toEpochMilli(
+        check(parse(buf, offset, length), new String(buf, offset, length, StandardCharsets.ISO_8859_1)), zone
+    );
+  }
+
+  /**
+   * toPacked 의 결과를 지정된 시간대의 epoch millis 로 변환합니다.
+   * 서머타임으로 건너뛴 시각은 건너뛴 만큼 뒤로, 중복된 시각은 앞의 offset 으로 변환합니다 (ZonedDateTime.ofLocal 과 같습니다)
+   * @param packed
+   * @param zone
+   * @return
+   */
+  public static long toEpochMilli(final long packed, final ZoneId zone) {
+    if (0 > packed) throw new IllegalArgumentException("invalid packed timestamp: " + packed);
+
+    final long localSeconds = toLocalEpochSecond(packed);
+    final ZoneRules rules = zone.getRules();
+    final ZoneOffset offset = rules.isFixedOffset()
+        ? rules.getOffset(Instant.EPOCH)
+        : rules.getOffset(toLocalDateTime(packed));
+
+    return (localSeconds - offset.getTotalSeconds()) * 1000L;
+  }
+
+  /**
+   * toPacked 의 결과를 LocalDateTime 으로 변환합니다
+   * @param packed
+   * @return
+   */
+  public static LocalDateTime toLocalDateTime(final long packed) {
+    if (0 > packed) throw new IllegalArgumentException("invalid packed timestamp: " + packed);
+
+    return LocalDateTime.of(
+        year(packed), field(packed, 8), field(packed, 6), field(packed, 4), field(packed, 2), field(packed, 0)
+    );
+  }
+
+  /**
+   * 숫자 이외의 문자를 건너뛰고 앞의 14자리 까지만 읽습니다. DateUtils.stringToDate 의 기존 규칙 입니다
+   * @param src
+   * @return 자릿수가 맞지 않는 경우 INVALID, 범위를 벗어난 경우 OUT_OF_RANGE
+   */
+  static long toPackedDigits(final CharSequence src) {
+    final long packed = parse(src, 0, src.length(), true);
+    if (0 <= packed) return packed;
+
+    return ERROR_LENGTH == reason(packed) ? INVALID : OUT_OF_RANGE;
+  }
+
+  /**
+   * 각 필드를 yyyyMMddHHmmss 자릿수의 long 으로 합칩니다. 필드는 0~99 (연도는 0~9999) 여야 합니다
+   * @return 범위를 벗어난 경우 INVALID
+   */
+  static long pack(final int year, final int month, final int day, final int hour, final int minute, final int second) {
+    final long packed = complete(
+        year * 10_000_000_000L + month * 100_000_000L + day * 1_000_000L + hour * 10_000L + minute * 100L + second, 14
+    );
+
+    return 0 > packed ? INVALID : packed;
+  }
+
+  static int year(final long packed) {
+    return (int) (packed / 10_000_000_000L);
+  }
+
+  /**
+   * epoch 기준의 지역 시각 초를 반환합니다 (LocalDate.toEpochDay 와 같은 계산)
+   */
+  static long toLocalEpochSecond(final long packed) {
+    final long year = year(packed);
+    final int month = field(packed, 8);
+    long days = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    days += (367 * month - 362) / 12;
+    days += field(packed, 6) - 1;
+    if (2 < month) {
+      days--;
+      if (!isLeapYear(year)) days--;
+    }
+    days -= 719528L;
+
+    return days * 86400L + field(packed, 4) * 3600L + field(packed, 2) * 60L + field(packed, 0);
+  }
+
+  private static long parse(final CharSequence src, final int from, final int to, final boolean skipNonDigits) {
+    long value = 0L;
+    int count = 0;
+
+    for (int i = from; i < to; i++) {
+      final char ch = src.charAt(i);
+
+      if ('0' <= ch && '9' >= ch) {
+        if (MAX_DIGITS <= count) {
+          if (skipNonDigits) continue;
+          return error(ERROR_LENGTH, i - from);
+        }
+        value = value * 10 + (ch - '0');
+        count++;
+      } else if (!skipNonDigits) {
+        return error(ERROR_DIGIT, i - from);
+      }
+    }
+
+    return complete(value, count);
+  }
+
+  private static long parse(final byte[] buf, final int offset, final int length) {
+    if (0 > offset || 0 > length || buf.length - offset < length) throw new IndexOutOfBoundsException();
+
+    long value = 0L;
+    int count = 0;
+
+    for (int i = offset; i < offset + length; i++) {
+      final byte b = buf[i];
+      if ('0' > b || '9' < b) return error(ERROR_DIGIT, i - offset);
+      if (MAX_DIGITS <= count) return error(ERROR_LENGTH, i - offset);
+
+      value = value * 10 + (b - '0');
+      count++;
+    }
+
+    return complete(value, count);
+  }
+
+  private static long complete(final long value, final int count) {
+    final long packed;
+    switch (count) {
+      case 14: packed = value; break;
+      case 12: packed = value * 100L; break;
+      case 10: packed = value * 10_000L; break;
+      case 8:  packed = value * 1_000_000L; break;
+      case 6:  packed = value * 100_000_000L + 1_000_000L; break;
+      case 4:  packed = value * 10_000_000_000L + 101_000_000L; break;
+      default: return error(ERROR_LENGTH, count);
+    }
+
+    final int month = field(packed, 8);
+    if (1 > month || 12 < month) return error(ERROR_RANGE, 4);
+    if (1 > field(packed, 6) || lengthOfMonth(year(packed), month) < field(packed, 6)) return error(ERROR_RANGE, 6);
+    if (23 < field(packed, 4)) return error(ERROR_RANGE, 8);
+    if (59 < field(packed, 2)) return error(ERROR_RANGE, 10);
+    if (59 < field(packed, 0)) return error(ERROR_RANGE, 12);
+
+    return packed;
+  }
+
+  private static long check(final long packed, final CharSequence src) {
+    if (0 <= packed) return packed;
+
+    final int index = (int) ((-packed - 1) >>> 2);
+    switch (reason(packed)) {
+      case ERROR_DIGIT:
+        throw new DateTimeParseException("non-digit character at index " + index, src, index);
+      case ERROR_RANGE:
+        throw new DateTimeParseException("field out of range at digit " + index, src, index);
+      default:
+        throw new DateTimeParseException("expected 4, 6, 8, 10, 12 or 14 digits", src, 0);
+    }
+  }
+
+  private static long error(final int reason, final int index) {
+    return -(((long) index << 2) | reason) - 1;
+  }
+
+  private static int reason(final long error) {
+    return (int) ((-error - 1) & 3);
+  }
+
+  private static int field(final long packed, final int digits) {
+    return (int) (packed / FIELD_UNITS[digits >> 1] % 100);
+  }
+
+  private static int lengthOfMonth(final long year, final int month) {
+    switch (month) {
+      case 2: return isLeapYear(year) ? 29 : 28;
+      case 4: case 6: case 9: case 11: return 30;
+      default: return 31;
+    }
+  }
+
+  private static boolean isLeapYear(final long year) {
+    return 0 == (year & 3) && (0 != year % 100 || 0 == year % 400);
+  }
+
+}
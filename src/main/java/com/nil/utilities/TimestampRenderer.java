@@ -0,0 +1,89 @@
+package com.nil.utilities;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * 현재 시각을 SimpleDateFormat 형식의 문자열로 변환하며, 형식별로 마지막 결과를 보관하여 같은 초 (SSS 가 있는 형식은 같은 밀리초) 안에서는 다시 변환하지 않는 렌더러.
+ * 보관된 결과는 불변 객체의 volatile 참조로 교체하므로 여러 스레드가 잠금 없이 읽을 수 있습니다.
+ * using) TimestampRenderer.SYSTEM.render("yyyyMMddHHmmss"), new TimestampRenderer(Clock.fixed(...), Locale.KOREA)
+ */
+public final class TimestampRenderer {
+
+  /** 시스템 시각과 기본 시간대, Locale.KOREA 를 사용하는 렌더러. DateUtils.getTimeStampString(String) 과 같은 결과 입니다 */
+  public static final TimestampRenderer SYSTEM = new TimestampRenderer(null, Locale.KOREA);
+
+  private static final int MAX_FORMATS = 64;
+
+  private final Clock clock;
+  private final Locale locale;
+  private final BoundedCache<String, Slot> slots = new BoundedCache<>(MAX_FORMATS);
+
+  /**
+   * @param clock 현재 시각과 시간대. null 인 경우 시스템 시각과 호출 시점의 기본 시간대를 사용합니다
+   * @param locale
+   */
+  public TimestampRenderer(final Clock clock, final Locale locale) {
+    if (null == locale) throw new IllegalArgumentException("locale must not be null");
+
+    this.clock = clock;
+    this.locale = locale;
+  }
+
+  /**
+   * 현재 시각을 주어진 형식으로 변환합니다
+   * @param format SimpleDateFormat 형식
+   * @return
+   */
+  public String render(final String format) {
+    final long millis = null == clock ? System.currentTimeMillis() : clock.millis();
+    final ZoneId zone = null == clock ? ZoneId.systemDefault() : clock.getZone();
+    final Slot slot = slots.get(format, Slot::new);
+    final long tick = slot.millis ? millis : Math.floorDiv(millis, 1000L);
+
+    final Rendered current = slot.current;
+    if (null != current && current.tick == tick && current.zone.equals(zone)) return current.text;
+
+    final String text = DateFormatterCache.format(millis, zone, locale, format);
+    slot.current = new Rendered(tick, zone, text);
+
+    return text;
+  }
+
+  /**
+   * 형식별 마지막 결과
+   */
+  private static final class Slot {
+    private final boolean millis;
+    private volatile Rendered current;
+
+    private Slot(final String format) {
+      this.millis = hasMillis(format);
+    }
+
+    private static boolean hasMillis(final String format) {
+      boolean quoted = false;
+      for (int i = 0; i < format.length(); i++) {
+        final char ch = format.charAt(i);
+        if ('\'' == ch) quoted = !quoted;
+        if (!quoted && 'S' == ch) return true;
+      }
+
+      return false;
+    }
+  }
+
+  private static final class Rendered {
+    private final long tick;
+    private final ZoneId zone;
+    private final String text;
+
+    private Rendered(final long tick, final ZoneId zone, final String text) {
+      this.tick = tick;
+      this.zone = zone;
+      this.text = text;
+    }
+  }
+
+}
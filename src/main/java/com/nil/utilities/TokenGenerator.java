@@ -0,0 +1,149 @@
+package com.nil.utilities;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지정된 문자 집합으로 임의의 토큰을 생성하는 생성기.
+ * 난수를 비트 단위로 나누어 쓰고 문자 집합 크기를 넘는 값은 버리기 때문에 모든 문자가 같은 확률로 선택됩니다.
+ * 생성기는 여러 스레드에서 공유할 수 있으며 난수 생성기는 스레드 별로 사용합니다.
+ * using) TokenGenerator.OTP.next(6), new TokenGenerator("ABCDEF0123456789", Source.FAST).next(32, 1000)
+ */
+public final class TokenGenerator {
+
+  public static final String NUMERIC = "1234567890";
+  public static final String ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890";
+  public static final String SPECIAL_CHARS = "`~!@#$%^&*()_+<>,./";
+
+  /**
+   * 난수 생성기 종류
+   */
+  public enum Source {
+    /** 스레드 별 SecureRandom. 인증 코드, 토큰 등 예측이 불가능해야 하는 값에 사용합니다 */
+    SECURE,
+    /** ThreadLocalRandom. 보안이 필요 없는 식별자 등에 사용합니다 */
+    FAST
+  }
+
+  private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+  /** 숫자 인증 코드 생성기 */
+  public static final TokenGenerator OTP = new TokenGenerator(NUMERIC, Source.SECURE);
+  /** 영문/숫자 토큰 생성기 */
+  public static final TokenGenerator TOKEN = new TokenGenerator(ALPHANUMERIC, Source.SECURE);
+  /** 영문/숫자/특수문자 토큰 생성기 */
+  public static final TokenGenerator TOKEN_WITH_SPECIAL_CHARS =
+      new TokenGenerator(ALPHANUMERIC + SPECIAL_CHARS, Source.SECURE);
+
+  private final char[] alphabet;
+  private final Source source;
+  private final int bits;
+  private final int mask;
+
+  /**
+   * @param alphabet 중복 없는 2자 이상의 문자 집합
+   * @param source
+   */
+  public TokenGenerator(final String alphabet, final Source source) {
+    if (null == alphabet || 2 > alphabet.length()) throw new IllegalArgumentException("alphabet needs at least 2 characters");
+    if (null == source) throw new IllegalArgumentException("source must not be null");
+    for (int i = 0; i < alphabet.length(); i++) {
+      if (i != alphabet.indexOf(alphabet.charAt(i))) {
+        throw new IllegalArgumentException("duplicated character in alphabet: " + alphabet.charAt(i));
+      }
+    }
+
+    this.alphabet = alphabet.toCharArray();
+    this.source = source;
+    this.bits = 32 - Integer.numberOfLeadingZeros(alphabet.length() - 1);
+    this.mask = (1 << bits) - 1;
+  }
+
+  /**
+   * 지정된 길이의 토큰을 반환합니다
+   * @param length
+   * @return
+   */
+  public String next(final int length) {
+    final char[] chars = new char[checkLength(length)];
+    fill(chars, 0, length, random());
+
+    return new String(chars);
+  }
+
+  /**
+   * 지정된 길이의 토큰을 count 개 생성하여 반환합니다
+   * @param length
+   * @param count
+   * @return
+   */
+  public String[] next(final int length, final int count) {
+    checkLength(length);
+    if (0 > count) throw new IllegalArgumentException("count must not be negative: " + count);
+
+    final char[] chars = nextChars(length, count);
+    final String[] tokens = new String[count];
+    for (int i = 0; i < count; i++) tokens[i] = new String(chars, i * length, length);
+
+    return tokens;
+  }
+
+  /**
+   * 지정된 길이의 토큰 count 개를 하나의 배열에 이어서 반환합니다. i 번째 토큰은 i * length 위치부터 시작합니다
+   * @param length
+   * @param count
+   * @return
+   */
+  public char[] nextChars(final int length, final int count) {
+    checkLength(length);
+    if (0 > count) throw new IllegalArgumentException("count must not be negative: " + count);
+
+    final char[] chars = new char[Math.multiplyExact(length, count)];
+    fill(chars, 0, chars.length, random());
+
+    return chars;
+  }
+
+  /**
+   * dst 의 offset 위치부터 length 개의 임의 문자를 채웁니다
+   * @param dst
+   * @param offset
+   * @param length
+   */
+  public void fill(final char[] dst, final int offset, final int length) {
+    if (0 > offset || 0 > length || dst.length - offset < length) throw new ArrayIndexOutOfBoundsException();
+
+    fill(dst, offset, length, random());
+  }
+
+  private void fill(final char[] dst, final int offset, final int length, final Random random) {
+    final int end = offset + length;
+    final int size = alphabet.length;
+    long buffer = 0L;
+    int remaining = 0;
+
+    for (int i = offset; i < end; ) {
+      if (bits > remaining) {
+        buffer = random.nextLong();
+        remaining = 64;
+      }
+
+      final int value = (int) buffer & mask;
+      buffer >>>= bits;
+      remaining -= bits;
+      if (value < size) dst[i++] = alphabet[value];
+    }
+  }
+
+  private Random random() {
+    return Source.SECURE == source ? SECURE_RANDOM.get() : ThreadLocalRandom.current();
+  }
+
+  private static int checkLength(final int length) {
+    if (0 > length) throw new IllegalArgumentException("length must not be negative: " + length);
+
+    return length;
+  }
+
+}
@@ -0,0 +1,218 @@
+package com.nil.utilities;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 표 기반 URL percent-encoding codec. UTF-8 바이트 단위로 한 번의 순회로 변환하며 변환할 문자가 없으면 원본을 그대로 반환합니다.
+ * using) UrlCodec.encode("a b&c", Mode.COMPONENT) -> "a%20b%26c"
+ */
+public abstract class UrlCodec {
+
+  /**
+   * 변환 규칙
+   */
+  public enum Mode {
+    /** RFC 3986 URI component. 영문/숫자와 - . _ ~ 만 그대로 두고 공백은 %20 으로 변환합니다. + 는 복원하지 않습니다 */
+    COMPONENT("-._~", "%20"),
+    /** application/x-www-form-urlencoded. URLEncoder 와 같이 영문/숫자와 - . _ * 만 그대로 두고 공백은 + 로 변환합니다 */
+    FORM("-._*", "+"),
+    /** 기존 StringUtils.encodeUrl 규칙. FORM 과 같지만 공백을 %20 으로 변환합니다. 복원은 FORM 과 같습니다 */
+    LEGACY("-._*", "%20");
+
+    private final boolean[] safe = new boolean[128];
+    private final String space;
+
+    Mode(final String unreserved, final String space) {
+      for (char ch = 'a'; ch <= 'z'; ch++) safe[ch] = true;
+      for (char ch = 'A'; ch <= 'Z'; ch++) safe[ch] = true;
+      for (char ch = '0'; ch <= '9'; ch++) safe[ch] = true;
+      for (int i = 0; i < unreserved.length(); i++) safe[unreserved.charAt(i)] = true;
+      this.space = space;
+    }
+
+    private boolean isSafe(final char ch) {
+      return 128 > ch && safe[ch];
+    }
+
+    private boolean isPlusSpace() {
+      return COMPONENT != this;
+    }
+  }
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  /**
+   * 주어진 문자열을 percent-encoding 합니다. 변환할 문자가 없으면 원본을 그대로 반환합니다
+   * @param text
+   * @param mode
+   * @return
+   */
+  public static String encode(final String text, final Mode mode) {
+    int i = 0;
+    while (i < text.length() && mode.isSafe(text.charAt(i))) i++;
+    if (i == text.length()) return text;
+
+    final StringBuilder sb = new StringBuilder(text.length() + 16);
+    sb.append(text, 0, i);
+    encode(text, i, mode, sb, null);
+
+    return sb.toString();
+  }
+
+  /**
+   * 주어진 문자열을 percent-encoding 하여 out 에 추가합니다
+   * @param text
+   * @param mode
+   * @param out
+   */
+  public static void encode(final CharSequence text, final Mode mode, final StringBuilder out) {
+    encode(text, 0, mode, out, null);
+  }
+
+  /**
+   * 주어진 문자열을 percent-encoding 하여 ASCII 바이트로 out 의 현재 위치부터 기록합니다.
+   * 남은 공간이 부족하면 BufferOverflowException 이 발생합니다
+   * @param text
+   * @param mode
+   * @param out
+   */
+  public static void encode(final CharSequence text, final Mode mode, final ByteBuffer out) {
+    encode(text, 0, mode, null, out);
+  }
+
+  /**
+   * percent-encoding 된 문자열을 복원합니다. 복원할 문자가 없으면 원본을 그대로 반환합니다
+   * @param text
+   * @param mode
+   * @return
+   * @throws IllegalArgumentException % 다음에 16진수 두 자리가 없는 경우
+   */
+  public static String decode(final String text, final Mode mode) {
+    int i = 0;
+    while (i < text.length() && '%' != text.charAt(i) && !('+' == text.charAt(i) && mode.isPlusSpace())) i++;
+    if (i == text.length()) return text;
+
+    final StringBuilder sb = new StringBuilder(text.length());
+    sb.append(text, 0, i);
+    decode(text, i, mode, sb, null);
+
+    return sb.toString();
+  }
+
+  /**
+   * percent-encoding 된 문자열을 복원하여 out 에 추가합니다
+   * @param text
+   * @param mode
+   * @param out
+   */
+  public static void decode(final CharSequence text, final Mode mode, final StringBuilder out) {
+    decode(text, 0, mode, out, null);
+  }
+
+  /**
+   * percent-encoding 된 문자열을 UTF-8 바이트로 복원하여 out 의 현재 위치부터 기록합니다
+   * @param text
+   * @param mode
+   * @param out
+   */
+  public static void decode(final CharSequence text, final Mode mode, final ByteBuffer out) {
+    decode(text, 0, mode, null, out);
+  }
+
+  private static void encode(
+      final CharSequence text, final int from, final Mode mode, final StringBuilder sb, final ByteBuffer bb
+  ) {
+    final int length = text.length();
+    for (int i = from; i < length; i++) {
+      final char ch = text.charAt(i);
+
+      if (mode.isSafe(ch)) {
+        put(ch, sb, bb);
+      } else if (' ' == ch) {
+        for (int j = 0; j < mode.space.length(); j++) put(mode.space.charAt(j), sb, bb);
+      } else if (0x80 > ch) {
+        putEscaped(ch, sb, bb);
+      } else if (0x800 > ch) {
+        putEscaped(0xC0 | (ch >> 6), sb, bb);
+        putEscaped(0x80 | (ch & 0x3F), sb, bb);
+      } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+        final int cp = Character.toCodePoint(ch, text.charAt(++i));
+        putEscaped(0xF0 | (cp >> 18), sb, bb);
+        putEscaped(0x80 | ((cp >> 12) & 0x3F), sb, bb);
+        putEscaped(0x80 | ((cp >> 6) & 0x3F), sb, bb);
+        putEscaped(0x80 | (cp & 0x3F), sb, bb);
+      } else if (Character.isSurrogate(ch)) {
+        // 짝이 맞지 않는 surrogate 는 URLEncoder 와 같이 ? 로 대체합니다
+        putEscaped('?', sb, bb);
+      } else {
+        putEscaped(0xE0 | (ch >> 12), sb, bb);
+        putEscaped(0x80 | ((ch >> 6) & 0x3F), sb, bb);
+        putEscaped(0x80 | (ch & 0x3F), sb, bb);
+      }
+    }
+  }
+
+  private static void decode(
+      final CharSequence text, final int from, final Mode mode, final StringBuilder sb, final ByteBuffer bb
+  ) {
+    final int length = text.length();
+    byte[] bytes = null;
+    int i = from;
+
+    while (i < length) {
+      final char ch = text.charAt(i);
+
+      if ('%' == ch) {
+        if (null == bytes) bytes = new byte[(length - i) / 3];
+        int count = 0;
+        while (i < length && '%' == text.charAt(i)) {
+          if (i + 2 >= length) throw new IllegalArgumentException("incomplete trailing escape (%) pattern");
+
+          final int hi = Character.digit(text.charAt(i + 1), 16);
+          final int lo = Character.digit(text.charAt(i + 2), 16);
+          if (0 > hi || 0 > lo) throw new IllegalArgumentException("illegal hex characters in escape (%) pattern");
+
+          bytes[count++] = (byte) ((hi << 4) | lo);
+          i += 3;
+        }
+
+        if (null != sb) {
+          sb.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+        } else {
+          bb.put(bytes, 0, count);
+        }
+        continue;
+      }
+
+      if (null != sb) {
+        sb.append('+' == ch && mode.isPlusSpace() ? ' ' : ch);
+      } else if (0x80 > ch) {
+        bb.put((byte) ('+' == ch && mode.isPlusSpace() ? ' ' : ch));
+      } else {
+        final int end = Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))
+            ? i + 2
+            : i + 1;
+        bb.put(text.subSequence(i, end).toString().getBytes(StandardCharsets.UTF_8));
+        i = end;
+        continue;
+      }
+      i++;
+    }
+  }
+
+  private static void put(final char ch, final StringBuilder sb, final ByteBuffer bb) {
+    if (null != sb) {
+      sb.append(ch);
+    } else {
+      bb.put((byte) ch);
+    }
+  }
+
+  private static void putEscaped(final int b, final StringBuilder sb, final ByteBuffer bb) {
+    put('%', sb, bb);
+    put(HEX[(b >> 4) & 0x0F], sb, bb);
+    put(HEX[b & 0x0F], sb, bb);
+  }
+
+}
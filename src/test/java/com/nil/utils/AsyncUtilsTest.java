@@ -1,15 +1,31 @@
 package com.nil.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.nil.utilities.AsyncBatcher;
+import com.nil.utilities.AsyncMetrics;
 import com.nil.utilities.AsyncUtils;
+import com.nil.utilities.PromiseResult;
+import com.nil.utilities.PromiseResult.Status;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 public class AsyncUtilsTest {
@@ -31,6 +47,186 @@ public class AsyncUtilsTest {
     bodies.stream().forEach(System.out::println);
   }
 
+  @Test
+  public void promiseAllWithExecutor() {
+    final ExecutorService executor = AsyncUtils.newExecutor(AsyncUtils.ExecutorType.WORK_STEALING, 2);
+    try {
+      final List<Object> results = AsyncUtils.promiseAll(executor, () -> 1, () -> "two", () -> null);
+
+      assertEquals(3, results.size());
+      assertEquals(1, results.get(0));
+      assertEquals("two", results.get(1));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void executorOwnership() throws Exception {
+    final ExecutorService mine = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "mine"));
+    final ExecutorService previous = AsyncUtils.setExecutor(mine);
+    try {
+      assertEquals("mine", AsyncUtils.executor.submit(() -> Thread.currentThread().getName()).get());
+
+      AsyncUtils.useExecutor(AsyncUtils.ExecutorType.FIXED, 2);
+      assertFalse(mine.isShutdown());
+      assertTrue(AsyncUtils.executor.submit(() -> Thread.currentThread().getName()).get().startsWith("async-utils-"));
+    } finally {
+      mine.shutdown();
+      AsyncUtils.shutdown(1, TimeUnit.SECONDS);
+      if (null != previous) previous.shutdown();
+    }
+  }
+
+  @Test
+  public void executorType() {
+    assertEquals(AsyncUtils.ExecutorType.WORK_STEALING, AsyncUtils.ExecutorType.of("work-stealing"));
+    assertEquals(AsyncUtils.ExecutorType.FIXED, AsyncUtils.ExecutorType.of(null));
+  }
+
+  @Test
+  public void promiseAllWithDeadline() {
+    final PromiseResult<String> result = AsyncUtils.promiseAll(
+        Duration.ofSeconds(5),
+        () -> "a",
+        () -> "b"
+    );
+
+    assertTrue(result.isSuccess());
+    assertEquals("a", result.getValue(0));
+    assertEquals("b", result.getValue(1));
+  }
+
+  @Test
+  public void promiseAllFailFast() {
+    final long started = System.currentTimeMillis();
+    final PromiseResult<Object> result = AsyncUtils.promiseAll(
+        Duration.ofSeconds(10),
+        () -> sleep(5000),
+        () -> { throw new IllegalStateException("fail"); }
+    );
+
+    assertTrue(System.currentTimeMillis() - started < 5000);
+    assertFalse(result.isSuccess());
+    assertEquals(Status.CANCELLED, result.getStatus(0));
+    assertEquals(Status.FAILED, result.getStatus(1));
+    assertTrue(result.getFirstError() instanceof IllegalStateException);
+  }
+
+  @Test
+  public void promiseAllTimeout() {
+    final PromiseResult<Object> result = AsyncUtils.promiseAll(
+        Duration.ofSeconds(10),
+        AsyncUtils.task(() -> sleep(5000), Duration.ofMillis(50)),
+        () -> "fast"
+    );
+
+    assertEquals(Status.TIMEOUT, result.getStatus(0));
+    assertEquals("fast", result.getValue(1));
+
+    final PromiseResult<Object> expired = AsyncUtils.promiseAll(Duration.ofMillis(50), () -> sleep(5000));
+    assertEquals(Status.TIMEOUT, expired.getStatus(0));
+  }
+
+  @Test
+  public void taskTimeoutMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> AsyncUtils.task(() -> "zero", Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> AsyncUtils.task(() -> "negative", Duration.ofMillis(-1)));
+  }
+
+  @Test
+  public void promiseAllInterrupted() {
+    Thread.currentThread().interrupt();
+    final PromiseResult<Object> result;
+    try {
+      result = AsyncUtils.promiseAll(Duration.ofSeconds(10), () -> sleep(5000));
+    } finally {
+      assertTrue(Thread.interrupted());
+    }
+
+    assertEquals(Status.CANCELLED, result.getStatus(0));
+    assertTrue(result.getError(0).getMessage().contains("interrupted"));
+  }
+
+  @Test
+  public void mapAsync() {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    final List<Integer> results = AsyncUtils.mapAsync(
+        IntStream.range(0, 200).boxed(),
+        i -> {
+          peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+          sleep(1);
+          running.decrementAndGet();
+          return i * 2;
+        },
+        4, true
+    ).collect(Collectors.toList());
+
+    assertEquals(200, results.size());
+    assertEquals(0, results.get(0));
+    assertEquals(398, results.get(199));
+    assertTrue(peak.get() <= 4);
+
+    assertEquals(100, AsyncUtils.mapAsync(IntStream.range(0, 100).boxed().collect(Collectors.toList()), i -> i, 8, false).count());
+  }
+
+  @Test
+  public void metrics() {
+    final AsyncMetrics metrics = new AsyncMetrics();
+    AsyncUtils.addListener(metrics);
+    try {
+      AsyncUtils.promiseAll(() -> "ok", () -> { throw new IllegalStateException(); });
+    } finally {
+      AsyncUtils.removeListener(metrics);
+    }
+
+    final AsyncMetrics.Snapshot snapshot = metrics.snapshot();
+    assertEquals(2, snapshot.getSubmitted());
+    assertEquals(1, snapshot.getCompleted());
+    assertEquals(1, snapshot.getFailed());
+    assertEquals(1, snapshot.getSwallowed());
+    assertEquals(2, snapshot.getRunTime().getCount());
+  }
+
+  @Test
+  public void batcher() {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<CompletableFuture<String>> futures = new ArrayList<>();
+
+    try (AsyncBatcher<Integer, String> batcher = new AsyncBatcher<>(
+        keys -> {
+          synchronized (batchSizes) {
+            batchSizes.add(keys.size());
+          }
+          return keys.stream().map(key -> "v" + key).collect(Collectors.toList());
+        },
+        10, Duration.ofMillis(20)
+    )) {
+      IntStream.range(0, 25).forEach(i -> futures.add(batcher.submit(i)));
+
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+      assertEquals("v0", futures.get(0).join());
+      assertEquals("v24", futures.get(24).join());
+    }
+
+    synchronized (batchSizes) {
+      assertEquals(3, batchSizes.size());
+      assertTrue(batchSizes.contains(5));
+    }
+  }
+
+  private Object sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return millis;
+  }
+
   private String request(final String value) {
     try {
       final URL url = new URL(value);
@@ -1,9 +1,36 @@
 package com.nil.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.nil.utilities.DateColumnParser;
+import com.nil.utilities.DateFormatterCache;
 import com.nil.utilities.DateUtils;
+import com.nil.utilities.TimestampParser;
+import com.nil.utilities.TimestampRenderer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 public class DateUtilsTest {
@@ -13,4 +40,117 @@ public class DateUtilsTest {
     assertEquals(LocalDate.now().toString(), DateUtils.getTimeStampString("yyyy-MM-dd"));
   }
 
+  @Test
+  public void formatterCache() {
+    final ZoneId seoul = ZoneId.of("Asia/Seoul");
+    final Instant instant = Instant.parse("2024-02-29T15:04:05.007Z");
+
+    assertEquals(
+        "2024-03-01T00:04:05.007 o'clock",
+        DateUtils.getTimeStampString(instant, seoul, Locale.KOREA, "yyyy-MM-dd'T'HH:mm:ss.SSS 'o''clock'")
+    );
+    assertNotNull(DateFormatterCache.get("yyyy-MM-dd'T'HH:mm:ss.SSS 'o''clock'", Locale.KOREA, seoul));
+    assertNull(DateFormatterCache.get("EEE, d MMM yyyy", Locale.US, seoul));
+    assertNull(DateFormatterCache.get("yyyy-MM-dd", new Locale("th", "TH"), seoul));
+
+    final long hits = DateFormatterCache.getHitCount();
+    final SimpleDateFormat legacy = new SimpleDateFormat("EEE, d MMM yyyy HH:mm", Locale.US);
+    legacy.setTimeZone(TimeZone.getTimeZone(seoul));
+    assertEquals(legacy.format(Date.from(instant)), DateUtils.getTimeStampString(instant, seoul, Locale.US, "EEE, d MMM yyyy HH:mm"));
+    DateUtils.getTimeStampString(instant, seoul, Locale.US, "EEE, d MMM yyyy HH:mm");
+    assertTrue(DateFormatterCache.getHitCount() > hits);
+    assertTrue(DateFormatterCache.MAX_SIZE >= DateFormatterCache.size());
+  }
+
+  @Test
+  public void parseTimestamp() throws ParseException {
+    final ZoneId seoul = ZoneId.of("Asia/Seoul");
+    final byte[] line = "id,20240229235959,x".getBytes(StandardCharsets.US_ASCII);
+
+    assertEquals(20240229235959L, TimestampParser.toPacked(line, 3, 14));
+    assertEquals(20240301000000L, TimestampParser.toPacked("20240301"));
+    assertEquals(TimestampParser.INVALID, TimestampParser.toPacked("20230229"));
+    assertEquals(TimestampParser.INVALID, TimestampParser.toPacked("2024-03-01"));
+    assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), TimestampParser.toLocalDateTime("2024"));
+    assertEquals(
+        Instant.parse("2024-02-29T14:59:59Z").toEpochMilli(), TimestampParser.toEpochMilli(line, 3, 14, seoul)
+    );
+
+    final DateTimeParseException e =
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.toLocalDateTime("2024013"));
+    assertEquals(0, e.getErrorIndex());
+    assertEquals(6, assertThrows(DateTimeParseException.class, () -> TimestampParser.toEpochMilli("20240132", seoul))
+        .getErrorIndex());
+
+    assertEquals(
+        new SimpleDateFormat("yyyyMMddHHmmss").parse("20240102030405"), DateUtils.stringToDate("2024-01-02 03:04:05")
+    );
+    assertEquals(new SimpleDateFormat("yyyyMMdd").parse("20240201"), DateUtils.stringToDate("2024-01-32"));
+    assertNull(DateUtils.stringToDate("2024-01-0"));
+  }
+
+  @Test
+  public void renderTimestamp() {
+    final AtomicLong now = new AtomicLong(Instant.parse("2024-01-01T00:00:00.100Z").toEpochMilli());
+    final Clock clock = new Clock() {
+      @Override
+      public ZoneId getZone() {
+        return ZoneId.of("UTC");
+      }
+
+      @Override
+      public Clock withZone(final ZoneId zone) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Instant instant() {
+        return Instant.ofEpochMilli(now.get());
+      }
+    };
+    final TimestampRenderer renderer = new TimestampRenderer(clock, Locale.KOREA);
+
+    final String first = renderer.render("yyyyMMddHHmmss");
+    assertEquals("20240101000000", first);
+    assertEquals("00:00:00.100", renderer.render("HH:mm:ss.SSS"));
+
+    now.addAndGet(800);
+    assertSame(first, renderer.render("yyyyMMddHHmmss"));
+    assertEquals("00:00:00.900", renderer.render("HH:mm:ss.SSS"));
+
+    now.addAndGet(100);
+    assertEquals("20240101000001", renderer.render("yyyyMMddHHmmss"));
+
+    final String quoted = renderer.render("'S' ss");
+    assertEquals("S 01", quoted);
+    now.incrementAndGet();
+    assertSame(quoted, renderer.render("'S' ss"));
+  }
+
+  @Test
+  public void parseDateColumn() throws ParseException {
+    final List<String> column = Arrays.asList(
+        "2024-01-01T00:00:00.000Z", "2024-02-29T23:59:59.999Z", "2024-01-01T09:00:00.000+0900",
+        "20240101", null, "2023-02-29T00:00:00.000Z", "2024-06-30T12:00:00.500Z"
+    );
+
+    final ZonedDateTime[] zoned = DateColumnParser.toZonedDateTimes(column, 2, ForkJoinPool.commonPool());
+    final long[] millis = DateColumnParser.toEpochMillis(column.stream());
+    for (int i = 0; i < column.size(); i++) {
+      if (null == zoned[i]) {
+        assertEquals(DateColumnParser.INVALID, millis[i]);
+        continue;
+      }
+      assertEquals(DateUtils.stringToZonedDatetime(column.get(i)), zoned[i]);
+      assertEquals(zoned[i].toInstant().toEpochMilli(), millis[i]);
+    }
+
+    assertEquals(Instant.parse("2024-02-29T23:59:59.999Z").toEpochMilli(), millis[1]);
+    assertEquals(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli(), millis[2]);
+    assertNull(zoned[4]);
+    assertNull(zoned[5]);
+    assertArrayEquals(millis, DateColumnParser.toEpochMillis(new LinkedList<>(column)));
+    assertArrayEquals(new long[0], DateColumnParser.toEpochMillis(new String[0]));
+  }
+
 }
@@ -0,0 +1,228 @@
+package com.nil.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nil.utilities.ChunkedFileReader;
+import com.nil.utilities.ChunkedFileWriter;
+import com.nil.utilities.SerializeUtil;
+import com.nil.utilities.SerializeUtil.Compression;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class SerializeUtilTest {
+
+  public static class Member {
+    private String name;
+    private int age;
+    private Map<String, Object> attributes;
+
+    public Member() {
+    }
+
+    public Member(final String name, final int age, final Map<String, Object> attributes) {
+      this.name = name;
+      this.age = age;
+      this.attributes = attributes;
+    }
+  }
+
+  @Test
+  public void serializedJava() throws IOException, ClassNotFoundException {
+    final String serialized = SerializeUtil.serialized(Arrays.asList("a", "b"));
+
+    assertEquals(Arrays.asList("a", "b"), SerializeUtil.deserialized(serialized, Object.class));
+  }
+
+  @Test
+  public void serializedBinary() throws IOException, ClassNotFoundException {
+    final Map<String, Object> value = new LinkedHashMap<>();
+    value.put("string", "문자열");
+    value.put("int", -12345);
+    value.put("long", Long.MAX_VALUE);
+    value.put("decimal", new BigDecimal("1234.5678"));
+    value.put("date", new Date(0));
+    value.put("list", Arrays.asList(1, null, "three"));
+    value.put("bytes", new byte[] {1, 2, 3});
+
+    final String binary = SerializeUtil.serialized(value, SerializeUtil.BINARY_CODEC);
+    final Map<?, ?> restored = SerializeUtil.deserialized(binary, Map.class);
+
+    assertTrue(binary.length() < SerializeUtil.serialized(value).length());
+    assertEquals("문자열", restored.get("string"));
+    assertEquals(-12345, restored.get("int"));
+    assertEquals(Long.MAX_VALUE, restored.get("long"));
+    assertEquals(new BigDecimal("1234.5678"), restored.get("decimal"));
+    assertEquals(new Date(0), restored.get("date"));
+    assertEquals(Arrays.asList(1, null, "three"), restored.get("list"));
+    assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) restored.get("bytes"));
+  }
+
+  @Test
+  public void serializedPojo() throws IOException, ClassNotFoundException {
+    SerializeUtil.BINARY_CODEC.register(100, Member.class);
+
+    final Map<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("grade", "gold");
+
+    final Member restored = SerializeUtil.deserialized(
+        SerializeUtil.serialized(new Member("nil", 30, attributes), SerializeUtil.BINARY_CODEC), Member.class);
+
+    assertEquals("nil", restored.name);
+    assertEquals(30, restored.age);
+    assertEquals("gold", restored.attributes.get("grade"));
+  }
+
+  @Test
+  public void serializeByteBuffer() throws IOException, ClassNotFoundException {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+    final int written = SerializeUtil.serialize("first", SerializeUtil.BINARY_CODEC, buffer);
+    SerializeUtil.serialize(Arrays.asList(1L, 2L), buffer);
+    buffer.flip();
+
+    assertEquals(written, SerializeUtil.toBytes("first", SerializeUtil.BINARY_CODEC).length);
+    assertEquals("first", SerializeUtil.deserialize(buffer, String.class));
+    assertEquals(Arrays.asList(1L, 2L), SerializeUtil.deserialize(buffer, Object.class));
+  }
+
+  @Test
+  public void serializeStream() throws IOException, ClassNotFoundException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SerializeUtil.serialize(12345L, SerializeUtil.BINARY_CODEC, out);
+
+    assertEquals(12345L, SerializeUtil.deserialize(new ByteArrayInputStream(out.toByteArray()), Long.class));
+  }
+
+  @Test
+  public void serializedCompression() throws IOException, ClassNotFoundException {
+    final List<String> value = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) value.add("member-" + (i % 50));
+
+    final String raw = SerializeUtil.serialized(value, SerializeUtil.JAVA_CODEC, Compression.NONE);
+    final String fast = SerializeUtil.serialized(value, SerializeUtil.JAVA_CODEC, Compression.FAST);
+    final String deflate = SerializeUtil.serialized(value, SerializeUtil.BINARY_CODEC, Compression.DEFLATE);
+
+    assertTrue(fast.length() < raw.length() / 2);
+    assertTrue(deflate.length() < fast.length());
+    assertEquals(value, SerializeUtil.deserialized(raw, List.class));
+    assertEquals(value, SerializeUtil.deserialized(fast, List.class));
+    assertEquals(value, SerializeUtil.deserialized(deflate, List.class));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SerializeUtil.serialize(value, SerializeUtil.BINARY_CODEC, Compression.FAST, out);
+    SerializeUtil.serialize("tail", SerializeUtil.BINARY_CODEC, Compression.FAST, out);
+    final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+
+    assertEquals(value, SerializeUtil.deserialize(in, List.class));
+    assertEquals("tail", SerializeUtil.deserialize(in, String.class));
+  }
+
+  @Test
+  public void serializedCompressionThreshold() throws IOException {
+    final byte[] small = SerializeUtil.toBytes("small", SerializeUtil.BINARY_CODEC, Compression.FAST);
+    final byte[] random = new byte[4096];
+    new Random(1).nextBytes(random);
+    final byte[] incompressible = SerializeUtil.toBytes(random, SerializeUtil.BINARY_CODEC, Compression.DEFLATE);
+
+    assertArrayEquals(SerializeUtil.toBytes("small", SerializeUtil.BINARY_CODEC, Compression.NONE), small);
+    assertArrayEquals(SerializeUtil.toBytes(random, SerializeUtil.BINARY_CODEC, Compression.NONE), incompressible);
+  }
+
+  @Test
+  public void serializeChunked() throws IOException, ClassNotFoundException {
+    final Path path = Files.createTempFile("chunked", ".bin");
+    try {
+      final List<Long> value = new ArrayList<>();
+      for (long i = 0; i < 10_000; i++) value.add(i * 31);
+
+      try (ChunkedFileWriter<Long> writer =
+               new ChunkedFileWriter<>(path, SerializeUtil.BINARY_CODEC, Compression.FAST, 1_000)) {
+        writer.writeAll(value);
+        writer.write(-1L);
+      }
+      value.add(-1L);
+
+      try (ChunkedFileReader<Long> reader = new ChunkedFileReader<>(path, Long.class)) {
+        assertEquals(value.size(), reader.size());
+        assertEquals(11, reader.getChunkCount());
+        assertEquals(value.subList(1_000, 2_000), reader.readChunk(1));
+        assertEquals(value, reader.readAll());
+        assertEquals(value, reader.parallelStream().collect(Collectors.toList()));
+      }
+
+      assertEquals(3L, SerializeUtil.serializeChunked(Arrays.asList("a", "b", "c"), path));
+      try (Stream<String> stream = SerializeUtil.deserializeChunked(path, String.class)) {
+        assertEquals(Arrays.asList("a", "b", "c"), stream.collect(Collectors.toList()));
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void serializeChunkedFailure() throws IOException {
+    final Path dir = Files.createTempDirectory("chunked");
+    final Path path = dir.resolve("snapshot.bin");
+    final Path partial = dir.resolve("partial.bin");
+    try {
+      assertEquals(3L, SerializeUtil.serializeChunked(Arrays.asList("a", "b", "c"), path));
+
+      // 중간에 실패하는 iterator
+      final Iterable<String> failing = () -> new Iterator<String>() {
+        private int count;
+
+        @Override
+        public boolean hasNext() {
+          return true;
+        }
+
+        @Override
+        public String next() {
+          if (5_000 == count) throw new IllegalStateException("source failed");
+          return String.valueOf(count++);
+        }
+      };
+
+      assertThrows(IllegalStateException.class, () -> SerializeUtil.serializeChunked(failing, path));
+      try (Stream<String> stream = SerializeUtil.deserializeChunked(path, String.class)) {
+        assertEquals(Arrays.asList("a", "b", "c"), stream.collect(Collectors.toList()));
+      }
+      try (Stream<Path> files = Files.list(dir)) {
+        assertEquals(1L, files.count());
+      }
+
+      assertThrows(IllegalStateException.class, () -> {
+        try (ChunkedFileWriter<String> writer =
+                 new ChunkedFileWriter<>(partial, SerializeUtil.BINARY_CODEC, Compression.NONE, 1_000)) {
+          writer.writeAll(failing);
+        }
+      });
+      assertTrue(Files.size(partial) > 0);
+      assertThrows(StreamCorruptedException.class, () -> new ChunkedFileReader<>(partial, String.class));
+    } finally {
+      Files.deleteIfExists(path);
+      Files.deleteIfExists(partial);
+      Files.delete(dir);
+    }
+  }
+
+}
@@ -0,0 +1,40 @@
+package com.nil.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nil.utilities.StreamUtils;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class StreamUtilsTest {
+
+  @Test
+  public void convertList() {
+    final List<Integer> source = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+    final List<String> expected = source.stream().map(String::valueOf).collect(Collectors.toList());
+
+    assertEquals(expected, StreamUtils.convertList(source, String::valueOf));
+    assertEquals(expected, StreamUtils.convertList(source, String::valueOf, 1_000));
+    assertEquals(expected, StreamUtils.convertList(new LinkedList<>(source), String::valueOf, 1_000));
+
+    final List<String> parallel = StreamUtils.convertList(source, String::valueOf, 1_000);
+    parallel.add("end");
+    assertEquals(source.size() + 1, parallel.size());
+  }
+
+  @Test
+  public void convertArray() {
+    final List<Integer> source = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+    final String[] expected = source.stream().filter(i -> 0 != i % 3).map(String::valueOf).toArray(String[]::new);
+
+    assertArrayEquals(expected, StreamUtils.convertArray(source, i -> 0 == i % 3 ? null : String.valueOf(i), String[]::new));
+    assertArrayEquals(expected, StreamUtils.convertArray(source, i -> 0 == i % 3 ? null : String.valueOf(i), String[]::new, 100));
+    assertArrayEquals(new String[] {"1", "2"}, StreamUtils.convertArray(Arrays.asList(1, 2), String::valueOf, String[]::new, 100));
+  }
+
+}
@@ -1,8 +1,46 @@
 package com.nil.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.nil.utilities.Base64Engine;
+import com.nil.utilities.CaseConverter;
+import com.nil.utilities.CaseConverter.CaseFormat;
+import com.nil.utilities.ColumnValidator;
+import com.nil.utilities.ColumnValidator.Result;
+import com.nil.utilities.ColumnValidator.Rule;
+import com.nil.utilities.EmailValidator;
+import com.nil.utilities.Formatters;
+import com.nil.utilities.HtmlEscaper;
+import com.nil.utilities.MaskingEngine;
+import com.nil.utilities.MaskingEngine.MaskPolicy;
+import com.nil.utilities.MaskingEngine.Type;
+import com.nil.utilities.MultiReplacer;
+import com.nil.utilities.QueryString;
 import com.nil.utilities.StringUtils;
+import com.nil.utilities.TokenGenerator;
+import com.nil.utilities.TokenGenerator.Source;
+import com.nil.utilities.UrlCodec;
+import com.nil.utilities.UrlCodec.Mode;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 public class StringUtilsTest {
@@ -11,6 +49,292 @@ public class StringUtilsTest {
   public void toCamelCase() {
     assertEquals("schoolBusDriver", StringUtils.toCamelCase("school_bus_driver"));
     assertEquals("goTheHell", StringUtils.toCamelCase("GO_THE_HELL"));
+    assertEquals("userId", StringUtils.toCamelCase("user--id"));
+    assertEquals("plain", StringUtils.toCamelCase("plain"));
+  }
+
+  @Test
+  public void convertCase() {
+    assertEquals("httpServerId", CaseConverter.convert("HTTPServerID", CaseFormat.CAMEL));
+    assertEquals("HttpServerId", CaseConverter.convert("http_server_id", CaseFormat.PASCAL));
+    assertEquals("user_id_v2", CaseConverter.convert("userIdV2", CaseFormat.SNAKE));
+    assertEquals("USER_ID", CaseConverter.convert("user-id", CaseFormat.SCREAMING_SNAKE));
+    assertEquals("xml-http-request", CaseConverter.convert("XMLHttpRequest", CaseFormat.KEBAB));
+
+    final CaseConverter converter = new CaseConverter(CaseFormat.CAMEL, 16);
+    assertSame(converter.convert("CREATED_AT"), converter.convert("CREATED_AT"));
+  }
+
+  @Test
+  public void decodeBase64() {
+    assertEquals("utilities?", StringUtils.decodeBase64String("dXRpbGl0aWVzPw=="));
+    assertEquals("utilities?", StringUtils.decodeBase64String("dXRpbGl0aWVzPw"));
+    assertEquals("\u00ff\u00fe", new String(StringUtils.decodeBase64("w7_Dvg"), StandardCharsets.UTF_8));
+    assertEquals("not base64!", StringUtils.decodeBase64String("not base64!"));
+    assertEquals("", StringUtils.decodeBase64String(""));
+
+    assertTrue(Formatters.isBase64String("YWI="));
+    assertTrue(Formatters.isBase64String("YQ="));
+    assertFalse(Formatters.isBase64String("YWJj="));
+    assertFalse(Formatters.isBase64String("Y"));
+
+    final byte[] out = new byte[8];
+    assertEquals(2, Base64Engine.decode("YWI=".getBytes(StandardCharsets.US_ASCII), 0, 4, out, 1));
+    assertArrayEquals(new byte[] {0, 'a', 'b', 0, 0, 0, 0, 0}, out);
+
+    final ByteBuffer dst = ByteBuffer.allocateDirect(8);
+    assertEquals(3, Base64Engine.decode(ByteBuffer.wrap("YWJj".getBytes(StandardCharsets.US_ASCII)), dst));
+    assertEquals(-1, Base64Engine.decode(ByteBuffer.wrap("YW*j".getBytes(StandardCharsets.US_ASCII)), dst));
+    assertEquals(3, dst.position());
+  }
+
+  @Test
+  public void safeHTML() {
+    final String plain = "plain text";
+    final String escaped = "&lt;a href=&quot;&#35;&quot;&gt;&#40;&#39;&amp;&#39;&#41;&lt;/a&gt;";
+
+    assertEquals(escaped, StringUtils.safeHTML("<a href=\"#\">('&')</a>"));
+    assertEquals("<a href=\"#\">('&')</a>", StringUtils.deSafeHTML(escaped));
+    assertEquals("&lt;", StringUtils.deSafeHTML("&amp;lt;"));
+    assertSame(plain, StringUtils.safeHTML(plain));
+    assertEquals("", StringUtils.safeHTML(null));
+
+    final StringBuilder out = new StringBuilder("<p>");
+    HtmlEscaper.escape("1 < 2", out);
+    assertEquals("<p>1 &lt; 2", out.toString());
+  }
+
+  @Test
+  public void replaceMultiple() {
+    final Map<String, String> replacements = new HashMap<>();
+    replacements.put("he", "1");
+    replacements.put("hers", "2");
+    replacements.put("she", "3");
+    replacements.put("{name}", "nil");
+    final MultiReplacer replacer = new MultiReplacer(replacements);
+
+    assertEquals("u3rs and 3 - nil", StringUtils.replace("ushers and she - {name}", replacer));
+    assertEquals("2 1", replacer.replace("hers he"));
+    assertTrue(replacer.containsAny("brushes"));
+    assertFalse(replacer.containsAny("nothing"));
+
+    final String plain = "nothing";
+    assertSame(plain, replacer.replace(plain));
+
+    final StringBuilder out = new StringBuilder();
+    replacer.replace("hello {name}", out);
+    assertEquals("1llo nil", out.toString());
+  }
+
+  @Test
+  public void randomString() {
+    assertTrue(StringUtils.getRandomNumberString(6).matches("\\d{6}"));
+    assertTrue(StringUtils.getRandomString(1000, false).matches("[a-zA-Z0-9]{1000}"));
+    assertEquals(20, StringUtils.getRandomString(20, true).length());
+
+    final TokenGenerator hex = new TokenGenerator("0123456789abcdef", Source.FAST);
+    final String[] tokens = hex.next(32, 100);
+    assertEquals(100, tokens.length);
+    for (final String token : tokens) assertTrue(token.matches("[0-9a-f]{32}"));
+
+    final int[] counts = new int[3];
+    for (final char ch : new TokenGenerator("abc", Source.FAST).nextChars(1, 30_000)) counts[ch - 'a']++;
+    for (final int count : counts) assertTrue(9_000 < count && 11_000 > count);
+  }
+
+  @Test
+  public void encodeUrl() {
+    final String plain = "plain-text_1.0";
+
+    assertEquals("a%20b%2Bc*%ED%95%9C", StringUtils.encodeUrl("a b+c*한"));
+    assertEquals("a b+c*한", StringUtils.decodeUrl("a+b%2Bc*%ED%95%9C"));
+    assertEquals("a%20b%2Bc%2A~", UrlCodec.encode("a b+c*~", Mode.COMPONENT));
+    assertEquals("a+b%2Bc*%7E", UrlCodec.encode("a b+c*~", Mode.FORM));
+    assertEquals("a+b c", UrlCodec.decode("a+b%20c", Mode.COMPONENT));
+    assertSame(plain, UrlCodec.encode(plain, Mode.COMPONENT));
+    assertSame(plain, UrlCodec.decode(plain, Mode.FORM));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    UrlCodec.encode("?q=1", Mode.COMPONENT, buffer);
+    assertEquals("%3Fq%3D1", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void decodeUrlToBuffer() {
+    for (final String text : new String[] {"a+b%2Bc", "한+%ED%95%9C", "\uD83D\uDE00%41", "\uD800%41+b", "x\uD800"}) {
+      for (final Mode mode : Mode.values()) {
+        final StringBuilder sb = new StringBuilder();
+        UrlCodec.decode(text, mode, sb);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(32);
+        UrlCodec.decode(text, mode, buffer);
+        assertArrayEquals(sb.toString().getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer.array(), buffer.position()));
+      }
+    }
+  }
+
+  @Test
+  public void parseQuery() throws IOException {
+    final QueryString query = QueryString.parse("?page=1&tag=a&tag=b%20c&&flag&name=%ED%95%9C+글&=x&eq=a=b");
+
+    assertEquals(6, query.size());
+    assertEquals("1", query.getFirst("page"));
+    assertEquals(Arrays.asList("a", "b c"), query.getAll("tag"));
+    assertEquals("", query.getFirst("flag"));
+    assertEquals("한 글", query.getFirst("name"));
+    assertEquals("a=b", query.getFirst("eq"));
+    assertFalse(query.contains("x"));
+    assertEquals(Arrays.asList("page", "tag", "flag", "name", "eq"), new ArrayList<>(query.getNames()));
+
+    final Map<String, String> streamed = new LinkedHashMap<>();
+    QueryString.forEach(new StringReader("a=1&b=%3D&&c"), 1024, streamed::put);
+    assertEquals("{a=1, b==, c=}", streamed.toString());
+  }
+
+  @Test
+  public void formatNumbers() throws IOException {
+    assertEquals("010-1234-5678", Formatters.phone(" 010.1234.5678 "));
+    assertEquals("02-123-4567", Formatters.phone("021234567"));
+    assertEquals("1588-1234", Formatters.phone("15881234"));
+    assertEquals("1234567", Formatters.phone("123-4567"));
+    assertEquals("123-45-67890", Formatters.biz("1234567890"));
+    assertEquals("1234-5678-9012-3456", Formatters.card("1234 5678 9012 3456"));
+    assertEquals("", Formatters.card(null));
+
+    assertEquals("1,234,567.0890", Formatters.number("001234567.0890"));
+    assertEquals("0", Formatters.number("000"));
+    assertEquals("1,000|2,000", Formatters.number("1000|2000."));
+    assertEquals("-9,223,372,036,854,775,808", Formatters.number(Long.MIN_VALUE));
+    assertEquals("12,345.60", Formatters.number(new BigDecimal("1.23456E+4").setScale(2)));
+    assertThrows(IllegalArgumentException.class, () -> Formatters.number(".."));
+
+    final StringBuilder sb = new StringBuilder("tel: ");
+    Formatters.phone("01012345678", sb);
+    assertEquals("tel: 010-1234-5678", sb.toString());
+  }
+
+  @Test
+  public void validateColumn() {
+    final Result result = ColumnValidator.validate(
+        new String[]{"2024-02-29", "2023-02-29", null, "20240101", "2024/13/01"}, Rule.DATE, Rule.NUMBER
+    );
+
+    assertEquals(5, result.size());
+    assertEquals(3, result.getFailureCount());
+    assertEquals(3, result.getFailureCount(Rule.DATE));
+    assertEquals(2, result.getFailureCount(Rule.NUMBER));
+    assertTrue(result.isValid(3));
+    assertEquals("{1, 2, 4}", result.getFailures(Rule.DATE).toString());
+    assertEquals(0, result.getFailureCount(Rule.EMAIL));
+
+    final List<String> emails = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) emails.add(0 == i % 7 ? "user" + i + "@mail" : "user" + i + "@mail.com");
+    final Result parallel = ColumnValidator.validate(emails, 2, ForkJoinPool.commonPool(), Rule.EMAIL);
+
+    assertEquals(143, parallel.getFailureCount());
+    assertEquals(ColumnValidator.validate(emails.stream(), Rule.EMAIL).getFailures(), parallel.getFailures());
+    assertFalse(parallel.isValid(693));
+    assertTrue(parallel.isValid(694));
+  }
+
+  @Test
+  public void validateEmail() {
+    assertTrue(Formatters.isEmail("first.last+tag@mail.example.co.kr"));
+    assertFalse(Formatters.isEmail("first..last@example.com"));
+    assertFalse(Formatters.isEmail("user@example"));
+    assertFalse(Formatters.isEmail("user@example.c0m"));
+    assertFalse(Formatters.isEmail("user@example.photography"));
+    assertTrue(EmailValidator.isValid("user@example.photography", EmailValidator.Mode.LENIENT));
+    assertFalse(EmailValidator.isValid("user@example.com", EmailValidator.Mode.STRICT, 10));
+
+    final StringBuilder label = new StringBuilder("user@");
+    for (int i = 0; i < 50_000; i++) label.append("a.");
+    assertFalse(EmailValidator.isValid(label.append('-')));
+  }
+
+  @Test
+  public void maskText() throws IOException {
+    final String text = "tel 010-1234-5678, card 1234 5678 9012 3456, biz 1234567891, mail john.doe@mail.com. date 2024.01.01";
+
+    assertEquals(
+        "tel 010-****-5678, card **** **** **** 3456, biz 12345*****, mail jo******@mail.com. date 2024.01.01",
+        MaskingEngine.DEFAULT.mask(text)
+    );
+    assertEquals("id01012345678 02-1**-4567", MaskingEngine.DEFAULT.mask("id01012345678 02-123-4567"));
+    assertEquals(
+        "ts=1697612345678 epoch 1697612345 order 20241018000123",
+        MaskingEngine.DEFAULT.mask("ts=1697612345678 epoch 1697612345 order 20241018000123")
+    );
+    assertEquals("visa ************1111, 123-45-*****", MaskingEngine.DEFAULT.mask("visa 4111111111111111, 123-45-67890"));
+
+    final Map<Type, MaskPolicy> policies = new HashMap<>();
+    policies.put(Type.EMAIL, MaskPolicy.NONE);
+    policies.put(Type.PHONE, new MaskPolicy(0, 0, '#'));
+    final MaskingEngine engine = new MaskingEngine(policies);
+
+    final StringWriter writer = new StringWriter();
+    engine.mask(new StringReader(text), writer);
+    assertEquals(
+        "tel ###-####-####, card **** **** **** 3456, biz 12345*****, mail john.doe@mail.com. date 2024.01.01",
+        writer.toString()
+    );
+  }
+
+  @Test
+  public void maskTextStream() throws IOException {
+    final String[] fragments = {
+        "010-1234-5678", "02-123-4567", "1588-1234", "01012345678", "4111 1111 1111 1111", "4111111111111111",
+        "123-45-67890", "1234567891", "1697612345678", "john.doe@mail.com", "a.b@c.co.kr.", "@", ".", "-", " ", "  ",
+        ", ", "\n", "id", "x9", "2024.01.01", "tel:", "mail "
+    };
+    final Random random = new Random(7);
+
+    for (int n = 0; n < 300; n++) {
+      final StringBuilder sb = new StringBuilder();
+      final int count = random.nextInt(40);
+      for (int i = 0; i < count; i++) sb.append(fragments[random.nextInt(fragments.length)]);
+
+      final String text = sb.toString();
+      final StringWriter writer = new StringWriter();
+      MaskingEngine.DEFAULT.mask(trickle(text, random.nextLong()), writer);
+      assertEquals(MaskingEngine.DEFAULT.mask(text), writer.toString(), text);
+    }
+
+    // 나눌 위치가 없는 64K 이상의 입력
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 70_000; i++) sb.append('x');
+    final String text = sb.append(" tel 010-1234-5678").toString();
+    final StringWriter writer = new StringWriter();
+    MaskingEngine.DEFAULT.mask(trickle(text, 1L), writer);
+    assertEquals(MaskingEngine.DEFAULT.mask(text), writer.toString());
+    assertTrue(writer.toString().endsWith(" tel 010-****-5678"));
+    assertEquals(text.length(), writer.toString().length());
+  }
+
+  /**
+   * 한 번에 1~7 문자씩만 반환하는 Reader
+   */
+  private static Reader trickle(final String text, final long seed) {
+    final Random random = new Random(seed);
+
+    return new Reader() {
+      private int pos;
+
+      @Override
+      public int read(final char[] buf, final int off, final int len) {
+        if (pos >= text.length()) return -1;
+
+        final int n = Math.min(Math.min(len, 1 + random.nextInt(7)), text.length() - pos);
+        text.getChars(pos, pos + n, buf, off);
+        pos += n;
+
+        return n;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
   }
 
 }